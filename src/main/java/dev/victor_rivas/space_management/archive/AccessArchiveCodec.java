@@ -0,0 +1,241 @@
+package dev.victor_rivas.space_management.archive;
+
+import dev.victor_rivas.space_management.enums.AccessStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Formato columnar de los segmentos de archivo.
+ *
+ * <pre>
+ * magic:int  version:byte  rows:int  minEntry:long  maxEntry:long      (epoch seconds, UTC)
+ * dictionary: count:byte, [length:byte, ascii bytes]...                 (nombres de AccessStatus)
+ * columnLengths: int x 8                                                (x 7 en la versión 1)
+ * id         zigzag varint, delta respecto a la fila anterior
+ * studentId  varint
+ * spaceId    varint
+ * entryTime  zigzag varint, delta respecto a la fila anterior (filas ordenadas por entryTime)
+ * exitTime   varint, segundos desde entryTime + 1 (0 = sin salida)
+ * createdAt  zigzag varint, segundos respecto a entryTime
+ * status     varint, índice en el diccionario
+ * notes      varint longitud en bytes + 1 (0 = sin notas), seguida del texto en UTF-8
+ * </pre>
+ *
+ * La cabecera es de ancho fijo hasta el diccionario para poder descartar un segmento por rango
+ * de fechas sin decodificar sus columnas.
+ */
+final class AccessArchiveCodec {
+
+    static final int MAGIC = 0x534D4152; // "SMAR"
+    static final byte VERSION = 2;
+    static final int HEADER_RANGE_OFFSET = 4 + 1 + 4;
+    private static final int COLUMNS = 8;
+    // Los segmentos de la versión 1 no tienen la columna de notas y se siguen leyendo
+    private static final int V1_COLUMNS = 7;
+
+    private AccessArchiveCodec() {}
+
+    static byte[] encode(List<ArchivedAccessRecord> records) {
+        List<ArchivedAccessRecord> rows = new ArrayList<>(records);
+        rows.sort(Comparator.comparing(ArchivedAccessRecord::getEntryTime)
+                .thenComparing(ArchivedAccessRecord::getId));
+
+        AccessStatus[] dictionary = AccessStatus.values();
+        ByteArrayOutputStream[] columns = new ByteArrayOutputStream[COLUMNS];
+        for (int i = 0; i < COLUMNS; i++) {
+            columns[i] = new ByteArrayOutputStream(rows.size() * 2);
+        }
+
+        long previousId = 0;
+        long previousEntry = 0;
+        long minEntry = Long.MAX_VALUE;
+        long maxEntry = Long.MIN_VALUE;
+        for (ArchivedAccessRecord row : rows) {
+            long entry = toEpoch(row.getEntryTime());
+            minEntry = Math.min(minEntry, entry);
+            maxEntry = Math.max(maxEntry, entry);
+
+            writeVarLong(columns[0], zigZag(row.getId() - previousId));
+            writeVarLong(columns[1], row.getStudentId());
+            writeVarLong(columns[2], row.getSpaceId());
+            writeVarLong(columns[3], zigZag(entry - previousEntry));
+            writeVarLong(columns[4], row.getExitTime() == null ? 0 : toEpoch(row.getExitTime()) - entry + 1);
+            writeVarLong(columns[5], zigZag(row.getCreatedAt() == null ? 0 : toEpoch(row.getCreatedAt()) - entry));
+            writeVarLong(columns[6], row.getStatus().ordinal());
+            if (row.getNotes() == null) {
+                writeVarLong(columns[7], 0);
+            } else {
+                byte[] notes = row.getNotes().getBytes(StandardCharsets.UTF_8);
+                writeVarLong(columns[7], notes.length + 1L);
+                columns[7].writeBytes(notes);
+            }
+
+            previousId = row.getId();
+            previousEntry = entry;
+        }
+
+        ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream();
+        dictionaryBytes.write(dictionary.length);
+        for (AccessStatus status : dictionary) {
+            byte[] name = status.name().getBytes(StandardCharsets.US_ASCII);
+            dictionaryBytes.write(name.length);
+            dictionaryBytes.writeBytes(name);
+        }
+
+        int size = HEADER_RANGE_OFFSET + 16 + dictionaryBytes.size() + COLUMNS * 4;
+        for (ByteArrayOutputStream column : columns) {
+            size += column.size();
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).put(VERSION).putInt(rows.size());
+        buffer.putLong(rows.isEmpty() ? 0 : minEntry).putLong(rows.isEmpty() ? 0 : maxEntry);
+        buffer.put(dictionaryBytes.toByteArray());
+        for (ByteArrayOutputStream column : columns) {
+            buffer.putInt(column.size());
+        }
+        for (ByteArrayOutputStream column : columns) {
+            buffer.put(column.toByteArray());
+        }
+        return buffer.array();
+    }
+
+    /** Lee solo la cabecera de rango sin tocar las columnas */
+    static long[] readEntryRange(ByteBuffer segment) {
+        checkHeader(segment);
+        return new long[]{segment.getLong(HEADER_RANGE_OFFSET), segment.getLong(HEADER_RANGE_OFFSET + 8)};
+    }
+
+    /**
+     * Filtro sobre las columnas ya leídas de una fila (entryTime en epoch seconds); las filas
+     * descartadas no llegan a construirse.
+     */
+    @FunctionalInterface
+    interface RowFilter {
+        RowFilter ALL = (studentId, spaceId, entry) -> true;
+
+        boolean test(long studentId, long spaceId, long entry);
+    }
+
+    static List<ArchivedAccessRecord> decode(ByteBuffer segment) {
+        return decode(segment, RowFilter.ALL);
+    }
+
+    static List<ArchivedAccessRecord> decode(ByteBuffer segment, RowFilter filter) {
+        ByteBuffer buffer = segment.duplicate();
+        checkHeader(buffer);
+        int columnCount = buffer.get(4) == 1 ? V1_COLUMNS : COLUMNS;
+        buffer.position(5);
+        int rows = buffer.getInt();
+        buffer.position(HEADER_RANGE_OFFSET + 16);
+
+        int dictionarySize = buffer.get() & 0xFF;
+        AccessStatus[] dictionary = new AccessStatus[dictionarySize];
+        for (int i = 0; i < dictionarySize; i++) {
+            byte[] name = new byte[buffer.get() & 0xFF];
+            buffer.get(name);
+            dictionary[i] = AccessStatus.valueOf(new String(name, StandardCharsets.US_ASCII));
+        }
+
+        ByteBuffer[] columns = new ByteBuffer[columnCount];
+        int[] lengths = new int[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            lengths[i] = buffer.getInt();
+        }
+        int offset = buffer.position();
+        for (int i = 0; i < columnCount; i++) {
+            columns[i] = buffer.duplicate().position(offset).limit(offset + lengths[i]).slice();
+            offset += lengths[i];
+        }
+
+        List<ArchivedAccessRecord> result = new ArrayList<>(filter == RowFilter.ALL ? rows : 16);
+        long id = 0;
+        long entry = 0;
+        for (int i = 0; i < rows; i++) {
+            id += unZigZag(readVarLong(columns[0]));
+            long studentId = readVarLong(columns[1]);
+            long spaceId = readVarLong(columns[2]);
+            entry += unZigZag(readVarLong(columns[3]));
+            long exit = readVarLong(columns[4]);
+            long created = unZigZag(readVarLong(columns[5]));
+            AccessStatus status = dictionary[(int) readVarLong(columns[6])];
+            int notesLength = columnCount > V1_COLUMNS ? (int) readVarLong(columns[7]) - 1 : -1;
+            // Las columnas delta se leen siempre para no perder la posición de la fila siguiente;
+            // el texto de las notas solo se decodifica en las filas que pasan el filtro
+            if (!filter.test(studentId, spaceId, entry)) {
+                if (notesLength > 0) {
+                    columns[7].position(columns[7].position() + notesLength);
+                }
+                continue;
+            }
+            String notes = null;
+            if (notesLength >= 0) {
+                byte[] bytes = new byte[notesLength];
+                columns[7].get(bytes);
+                notes = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            result.add(ArchivedAccessRecord.builder()
+                    .id(id)
+                    .studentId(studentId)
+                    .spaceId(spaceId)
+                    .entryTime(fromEpoch(entry))
+                    .exitTime(exit == 0 ? null : fromEpoch(entry + exit - 1))
+                    .createdAt(fromEpoch(entry + created))
+                    .status(status)
+                    .notes(notes)
+                    .build());
+        }
+        return result;
+    }
+
+    private static void checkHeader(ByteBuffer segment) {
+        byte version = segment.get(4);
+        if (segment.getInt(0) != MAGIC || version < 1 || version > VERSION) {
+            throw new IllegalStateException("Not an access archive segment (versions 1-" + VERSION + ")");
+        }
+    }
+
+    static long toEpoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    static LocalDateTime fromEpoch(long seconds) {
+        return LocalDateTime.ofEpochSecond(seconds, 0, ZoneOffset.UTC);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
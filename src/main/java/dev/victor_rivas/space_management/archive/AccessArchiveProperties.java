@@ -0,0 +1,23 @@
+package dev.victor_rivas.space_management.archive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "access-records.archive")
+public class AccessArchiveProperties {
+
+    /** Activa el archivado y la lectura de segmentos archivados */
+    private boolean enabled = false;
+
+    /** Directorio local donde se guardan los segmentos */
+    private String directory = "./archive/access-records";
+
+    /** Antigüedad (por entry_time) a partir de la cual un acceso cerrado se archiva */
+    private int cutoffDays = 180;
+
+    /** Número máximo de registros por segmento (y por transacción de archivado) */
+    private int segmentSize = 50_000;
+}
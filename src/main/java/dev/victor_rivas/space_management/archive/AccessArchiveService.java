@@ -0,0 +1,131 @@
+package dev.victor_rivas.space_management.archive;
+
+import dev.victor_rivas.space_management.enums.AccessStatus;
+import dev.victor_rivas.space_management.model.entity.AccessRecord;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.service.MetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mueve los accesos COMPLETED/CANCELLED más antiguos que el corte configurado desde
+ * access_records a segmentos de {@link AccessArchiveStore}.
+ *
+ * <p>Cada lote se escribe primero como segmento pendiente, se borra de la base de datos en la
+ * misma transacción y se publica tras el commit. Si el proceso se interrumpe entre el commit y
+ * la publicación, {@link #recoverPendingSegments()} publica el segmento al arrancar cuando sus
+ * registros ya no existen en la base de datos, o lo descarta en caso contrario.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccessArchiveService {
+
+    private static final Set<AccessStatus> ARCHIVABLE = Set.of(AccessStatus.COMPLETED, AccessStatus.CANCELLED);
+
+    private final AccessArchiveStore store;
+    private final AccessArchiveProperties properties;
+    private final AccessRecordRepository accessRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MetricsService metricsService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPendingSegments() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (Path pending : store.pendingSegments()) {
+            List<Long> ids = store.read(pending).stream().map(ArchivedAccessRecord::getId).toList();
+            if (ids.isEmpty() || !accessRecordRepository.existsByIdIn(ids)) {
+                store.publish(pending);
+                log.info("Recovered pending access archive segment {}", pending);
+            } else {
+                store.discard(pending);
+                log.info("Discarded uncommitted access archive segment {}", pending);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${access-records.archive.cron:0 30 3 * * *}")
+    public void archiveExpiredRecords() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            archiveOlderThan(LocalDateTime.now().minusDays(properties.getCutoffDays()));
+        } catch (Exception e) {
+            log.error("Access record archiving failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Archiva en segmentos de hasta segment-size registros todos los accesos cerrados con
+     * entry_time anterior a {@code cutoff}.
+     *
+     * @return número de registros archivados
+     */
+    public long archiveOlderThan(LocalDateTime cutoff) {
+        long archived = 0;
+        while (true) {
+            Path[] pending = new Path[1];
+            Integer batch;
+            try {
+                batch = transactionTemplate.execute(status -> {
+                    List<AccessRecord> records = accessRecordRepository.findByStatusInAndEntryTimeBefore(
+                            ARCHIVABLE, cutoff,
+                            PageRequest.of(0, properties.getSegmentSize(), Sort.by("entryTime", "id")));
+                    if (records.isEmpty()) {
+                        return 0;
+                    }
+
+                    pending[0] = store.writePending(records.stream().map(AccessArchiveService::toArchived).toList());
+                    accessRecordRepository.deleteAllByIdInBatch(records.stream().map(AccessRecord::getId).toList());
+                    return records.size();
+                });
+            } catch (RuntimeException e) {
+                if (pending[0] != null) {
+                    store.discard(pending[0]);
+                }
+                throw e;
+            }
+
+            if (batch == null || batch == 0) {
+                break;
+            }
+            store.publish(pending[0]);
+            archived += batch;
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} access records with entry time before {}", archived, cutoff);
+            // Los accesos completados archivados salen de la tabla: se recuentan los gauges
+            metricsService.reconcileGauges();
+        }
+        return archived;
+    }
+
+    private static ArchivedAccessRecord toArchived(AccessRecord record) {
+        return ArchivedAccessRecord.builder()
+                .id(record.getId())
+                .studentId(record.getStudent().getId())
+                .spaceId(record.getSpace().getId())
+                .entryTime(record.getEntryTime())
+                .exitTime(record.getExitTime())
+                .createdAt(record.getCreatedAt())
+                .status(record.getStatus())
+                .notes(record.getNotes())
+                .build();
+    }
+}
@@ -0,0 +1,202 @@
+package dev.victor_rivas.space_management.archive;
+
+import jakarta.annotation.PostConstruct;
+import dev.victor_rivas.space_management.archive.AccessArchiveCodec.RowFilter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Segmentos de archivo en disco, de solo anexado y leídos mediante memory-mapping.
+ * Cada ejecución del archivador escribe segmentos nuevos; nunca se modifica uno existente.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccessArchiveStore {
+
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String PENDING_SUFFIX = ".seg.tmp";
+
+    private final AccessArchiveProperties properties;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    void loadSegments() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory());
+            try (Stream<Path> files = Files.list(directory())) {
+                files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted(Comparator.comparing(Path::getFileName))
+                        .forEach(path -> segments.add(map(path)));
+            }
+            log.info("Loaded {} access archive segments from {}", segments.size(), directory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open access archive directory", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Escribe el segmento como fichero pendiente; solo es visible para las lecturas
+     * después de {@link #publish(Path)}.
+     */
+    Path writePending(List<ArchivedAccessRecord> records) {
+        String name = "access-" + System.currentTimeMillis() + "-" + records.get(0).getId();
+        Path pending = directory().resolve(name + PENDING_SUFFIX);
+        try (FileChannel channel = FileChannel.open(pending,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer data = ByteBuffer.wrap(AccessArchiveCodec.encode(records));
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            channel.force(true);
+            return pending;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write access archive segment", e);
+        }
+    }
+
+    void publish(Path pending) {
+        String name = pending.getFileName().toString();
+        Path segment = pending.resolveSibling(name.substring(0, name.length() - PENDING_SUFFIX.length())
+                + SEGMENT_SUFFIX);
+        try {
+            Files.move(pending, segment, StandardCopyOption.ATOMIC_MOVE);
+            segments.add(map(segment));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not publish access archive segment " + pending, e);
+        }
+    }
+
+    void discard(Path pending) {
+        try {
+            Files.deleteIfExists(pending);
+        } catch (IOException e) {
+            log.warn("Could not delete pending access archive segment {}: {}", pending, e.getMessage());
+        }
+    }
+
+    List<Path> pendingSegments() {
+        try (Stream<Path> files = Files.list(directory())) {
+            return files.filter(path -> path.getFileName().toString().endsWith(PENDING_SUFFIX)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list access archive directory", e);
+        }
+    }
+
+    List<ArchivedAccessRecord> read(Path file) {
+        return AccessArchiveCodec.decode(map(file).buffer());
+    }
+
+    public List<ArchivedAccessRecord> findByEntryTimeBetween(LocalDateTime start, LocalDateTime end) {
+        return find(start, end, RowFilter.ALL);
+    }
+
+    public List<ArchivedAccessRecord> findBySpaceAndEntryTimeBetween(Long spaceId,
+                                                                     LocalDateTime start,
+                                                                     LocalDateTime end) {
+        return find(start, end, bySpace(spaceId));
+    }
+
+    public List<ArchivedAccessRecord> findBySpace(Long spaceId) {
+        return find(null, null, bySpace(spaceId));
+    }
+
+    public List<ArchivedAccessRecord> findByStudent(Long studentId) {
+        return find(null, null, byStudent(studentId));
+    }
+
+    public List<ArchivedAccessRecord> findAll() {
+        return find(null, null, RowFilter.ALL);
+    }
+
+    /** Si algún acceso archivado referencia al espacio; se detiene en el primer segmento que lo tenga */
+    public boolean existsBySpace(Long spaceId) {
+        return exists(bySpace(spaceId));
+    }
+
+    /** Si algún acceso archivado referencia al estudiante */
+    public boolean existsByStudent(Long studentId) {
+        return exists(byStudent(studentId));
+    }
+
+    private static RowFilter bySpace(Long spaceId) {
+        long id = spaceId;
+        return (student, space, entry) -> space == id;
+    }
+
+    private static RowFilter byStudent(Long studentId) {
+        long id = studentId;
+        return (student, space, entry) -> student == id;
+    }
+
+    private boolean exists(RowFilter filter) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        for (Segment segment : segments) {
+            if (!AccessArchiveCodec.decode(segment.buffer(), filter).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<ArchivedAccessRecord> find(LocalDateTime start, LocalDateTime end, RowFilter filter) {
+        if (!properties.isEnabled() || segments.isEmpty()) {
+            return List.of();
+        }
+
+        // Los segmentos guardan segundos enteros: un inicio con fracción empieza en el segundo siguiente
+        long from = start != null ? AccessArchiveCodec.toEpoch(start) + (start.getNano() > 0 ? 1 : 0) : Long.MIN_VALUE;
+        long to = end != null ? AccessArchiveCodec.toEpoch(end) : Long.MAX_VALUE;
+        RowFilter inRange = (student, space, entry) ->
+                entry >= from && entry <= to && filter.test(student, space, entry);
+
+        List<ArchivedAccessRecord> result = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.maxEntry() < from || segment.minEntry() > to) {
+                continue;
+            }
+            result.addAll(AccessArchiveCodec.decode(segment.buffer(), inRange));
+        }
+        return result;
+    }
+
+    private Path directory() {
+        return Paths.get(properties.getDirectory());
+    }
+
+    private static Segment map(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            long[] range = AccessArchiveCodec.readEntryRange(buffer);
+            return new Segment(path, buffer, range[0], range[1]);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map access archive segment " + path, e);
+        }
+    }
+
+    private record Segment(Path path, ByteBuffer buffer, long minEntry, long maxEntry) {}
+}
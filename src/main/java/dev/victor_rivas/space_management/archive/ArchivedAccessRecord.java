@@ -0,0 +1,32 @@
+package dev.victor_rivas.space_management.archive;
+
+import dev.victor_rivas.space_management.enums.AccessStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Registro de acceso cerrado leído de un segmento de archivo: identificadores, tiempos
+ * (precisión de segundos), estado y notas. Los segmentos de la versión 1 no guardaban las notas.
+ */
+@Value
+@Builder
+public class ArchivedAccessRecord {
+    Long id;
+    Long studentId;
+    Long spaceId;
+    LocalDateTime entryTime;
+    LocalDateTime exitTime;
+    LocalDateTime createdAt;
+    AccessStatus status;
+    String notes;
+
+    public Long getDurationInMinutes() {
+        if (exitTime == null) {
+            return null;
+        }
+        return Duration.between(entryTime, exitTime).toMinutes();
+    }
+}
@@ -3,38 +3,73 @@ package dev.victor_rivas.space_management.config;
 import dev.victor_rivas.space_management.repository.StudentRepository;
 import dev.victor_rivas.space_management.repository.SpaceRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Recuentos de estudiantes y espacios para /actuator/health. Los COUNT se calculan en segundo
+ * plano cada health-checks.snapshot-refresh-ms y health() solo lee el último snapshot, así que
+ * consultar la salud no lanza consultas sea cual sea el volumen de datos. No forma parte de los
+ * grupos liveness/readiness: esos usan livenessState y {@link DatabasePoolHealthIndicator}.
+ */
+@Slf4j
 @Component("customHealth")
 @RequiredArgsConstructor
 public class CustomHealthIndicator implements HealthIndicator {
 
     private final StudentRepository studentRepository;
     private final SpaceRepository spaceRepository;
+    private final HealthCheckProperties properties;
 
-    @Override
-    public Health health() {
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${health-checks.snapshot-refresh-ms:30000}",
+            initialDelayString = "${health-checks.snapshot-refresh-ms:30000}")
+    public void refresh() {
         try {
-            long studentCount = studentRepository.count();
-            long spaceCount = spaceRepository.count();
-
-            if (studentCount >= 0 && spaceCount >= 0) {
-                return Health.up()
-                        .withDetail("students", studentCount)
-                        .withDetail("spaces", spaceCount)
-                        .withDetail("database", "Connected")
-                        .build();
-            } else {
-                return Health.down()
-                        .withDetail("error", "Invalid count")
-                        .build();
-            }
+            snapshot = new Snapshot(studentRepository.count(), spaceRepository.count(), null, Instant.now());
         } catch (Exception e) {
-            return Health.down()
-                    .withDetail("error", e.getMessage())
+            log.warn("Could not refresh health snapshot: {}", e.getMessage());
+            snapshot = new Snapshot(-1, -1, e.getMessage(), Instant.now());
+        }
+    }
+
+    @Override
+    public Health health() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Health.unknown()
+                    .withDetail("snapshot", "pending")
                     .build();
         }
+
+        Duration age = Duration.between(current.takenAt(), Instant.now());
+        Health.Builder builder;
+        if (current.error() != null) {
+            builder = Health.down().withDetail("error", current.error());
+        } else if (age.compareTo(properties.getMaxStaleness()) > 0) {
+            builder = Health.unknown().withDetail("error", "Stale snapshot");
+        } else {
+            builder = Health.up()
+                    .withDetail("students", current.students())
+                    .withDetail("spaces", current.spaces())
+                    .withDetail("database", "Connected");
+        }
+        return builder
+                .withDetail("snapshotTakenAt", current.takenAt().toString())
+                .withDetail("snapshotAgeMs", age.toMillis())
+                .build();
+    }
+
+    private record Snapshot(long students, long spaces, String error, Instant takenAt) {
     }
 }
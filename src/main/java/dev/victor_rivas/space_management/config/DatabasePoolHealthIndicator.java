@@ -0,0 +1,76 @@
+package dev.victor_rivas.space_management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Indicador del grupo readiness: estado del pool de Hikari más una validación trivial de conexión
+ * (Connection.isValid, sin consultar tablas). Con el pool saturado (ninguna conexión libre y, o
+ * bien hilos esperando, o bien todas las conexiones posibles ya prestadas) responde OUT_OF_SERVICE
+ * sin pedir conexión: si no, la sonda esperaría hasta connection-timeout en la cola del pool. Así
+ * el balanceador deja de enviar tráfico mientras dure.
+ * Sustituye al indicador "db" de Spring Boot, que está desactivado.
+ */
+@Component("databasePool")
+public class DatabasePoolHealthIndicator implements HealthIndicator {
+
+    private final DataSource dataSource;
+    private final HealthCheckProperties properties;
+
+    public DatabasePoolHealthIndicator(DataSource dataSource, HealthCheckProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        HikariDataSource hikari = hikari();
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        if (pool != null) {
+            int idle = pool.getIdleConnections();
+            int active = pool.getActiveConnections();
+            int max = hikari.getMaximumPoolSize();
+            int waiting = pool.getThreadsAwaitingConnection();
+            builder.withDetail("active", active)
+                    .withDetail("idle", idle)
+                    .withDetail("total", pool.getTotalConnections())
+                    .withDetail("max", max)
+                    .withDetail("waiting", waiting);
+            if (idle == 0 && (waiting > 0 || active >= max)) {
+                return builder.outOfService()
+                        .withDetail("error", "Connection pool saturated")
+                        .build();
+            }
+        }
+
+        int timeoutSeconds = (int) Math.max(1, properties.getValidationTimeout().toSeconds());
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(timeoutSeconds)) {
+                return builder.down()
+                        .withDetail("error", "Connection validation failed")
+                        .build();
+            }
+        } catch (SQLException e) {
+            return builder.down()
+                    .withDetail("error", e.getMessage())
+                    .build();
+        }
+        return builder.build();
+    }
+
+    private HikariDataSource hikari() {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package dev.victor_rivas.space_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "health-checks")
+public class HealthCheckProperties {
+
+    // Cada cuánto se recalculan en segundo plano los recuentos de customHealth
+    private long snapshotRefreshMs = 30000;
+    // Antigüedad máxima del snapshot antes de informar UNKNOWN (tarea de refresco atascada)
+    private Duration maxStaleness = Duration.ofMinutes(2);
+    // Tiempo máximo de Connection.isValid en el indicador del pool (readiness)
+    private Duration validationTimeout = Duration.ofSeconds(1);
+}
@@ -3,6 +3,8 @@ package dev.victor_rivas.space_management.config;
 import io.micrometer.core.aop.TimedAspect;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
 import org.springframework.boot.actuate.autoconfigure.metrics.MeterRegistryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -27,6 +29,14 @@ public class MetricsConfig {
         return new TimedAspect(registry);
     }
 
+    /**
+     * Habilita la anotación @Observed (métricas y spans de los servicios)
+     */
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry registry) {
+        return new ObservedAspect(registry);
+    }
+
     /**
      * Métricas personalizadas para el negocio
      */
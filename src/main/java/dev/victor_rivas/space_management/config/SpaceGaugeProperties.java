@@ -0,0 +1,16 @@
+package dev.victor_rivas.space_management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "metrics.space-gauges")
+public class SpaceGaugeProperties {
+
+    // Espacios con series propias; el resto se suma en space="other"
+    private int maxSpaces = 100;
+    // Edificios con series propias; el resto se suma en building="other"
+    private int maxBuildings = 20;
+}
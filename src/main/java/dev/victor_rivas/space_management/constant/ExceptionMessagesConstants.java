@@ -7,4 +7,8 @@ public final class ExceptionMessagesConstants {
 
     public static final String STUDENT_NOT_FOUND = "Student not found with id: ";
     public static final String SPACE_NOT_FOUND = "Space not found with id: ";
+    public static final String STUDENT_ALREADY_ACTIVE = "Student already has an active access in a space";
+    public static final String REGISTRATION_NUMBER_ALREADY_EXISTS = "Registration number already exists";
+    public static final String EMAIL_ALREADY_EXISTS = "Email already exists";
+    public static final String AUTHENTICATION_BUSY = "Authentication service is busy, please retry shortly";
 }
@@ -5,6 +5,8 @@ import dev.victor_rivas.space_management.model.dto.ApiResponse;
 import dev.victor_rivas.space_management.model.dto.EntryRequest;
 import dev.victor_rivas.space_management.model.dto.ExitRequest;
 import dev.victor_rivas.space_management.service.AccessRecordService;
+import dev.victor_rivas.space_management.observability.QueryBudget;
+import dev.victor_rivas.space_management.observability.SampledLogFilter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -63,18 +65,21 @@ public class AccessRecordController {
                     content = @Content(mediaType = "application/json")
             )
     })
+    @QueryBudget(8)
     @PostMapping("/entry")
     public ResponseEntity<ApiResponse<AccessRecordDTO>> registerEntry(
             @Valid @RequestBody EntryRequest request) {
 
-        logger.info("Entry registration request - Student ID: {}, Space ID: {}",
+        logger.debug("Entry registration request - Student ID: {}, Space ID: {}",
                 request.getStudentId(), request.getSpaceId());
         logger.debug("Entry notes: {}", request.getNotes());
 
         try {
             AccessRecordDTO accessRecord = accessRecordService.registerEntry(request);
 
-            logger.info("Entry registered successfully - Record ID: {}, Student: {}, Space: {}",
+            // Camino caliente: solo se escribe una muestra (logging.sample-rate); los errores siempre
+            logger.info(SampledLogFilter.SAMPLED,
+                    "Entry registered successfully - Record ID: {}, Student: {}, Space: {}",
                     accessRecord.getId(),
                     request.getStudentId(),
                     request.getSpaceId());
@@ -120,18 +125,20 @@ public class AccessRecordController {
                     content = @Content(mediaType = "application/json")
             )
     })
+    @QueryBudget(6)
     @PostMapping("/exit")
     public ResponseEntity<ApiResponse<AccessRecordDTO>> registerExit(
             @Valid @RequestBody ExitRequest request) {
 
-        logger.info("Exit registration request - Access Record ID: {}",
+        logger.debug("Exit registration request - Access Record ID: {}",
                 request.getAccessRecordId());
         logger.debug("Exit notes: {}", request.getNotes());
 
         try {
             AccessRecordDTO accessRecord = accessRecordService.registerExit(request);
 
-            logger.info("Exit registered successfully - Record ID: {}, Duration: {} minutes",
+            logger.info(SampledLogFilter.SAMPLED,
+                    "Exit registered successfully - Record ID: {}, Duration: {} minutes",
                     accessRecord.getId(),
                     accessRecord.getDurationInMinutes());
 
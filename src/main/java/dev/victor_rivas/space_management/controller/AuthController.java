@@ -1,19 +1,24 @@
 package dev.victor_rivas.space_management.controller;
 
 import dev.victor_rivas.space_management.model.dto.*;
+import dev.victor_rivas.space_management.security.AuthenticatedUser;
 import dev.victor_rivas.space_management.service.AuthService;
 import dev.victor_rivas.space_management.service.StudentService;
+import dev.victor_rivas.space_management.service.TokenRevocationService;
+import dev.victor_rivas.space_management.observability.QueryBudget;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -26,6 +31,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final StudentService studentService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Operation(
             summary = "Login",
@@ -51,6 +57,7 @@ public class AuthController {
                     content = @Content(mediaType = "application/json")
             )
     })
+    @QueryBudget(4)
     @PostMapping("/login")
     public ResponseEntity<dev.victor_rivas.space_management.model.dto.ApiResponse<AuthResponse>> login(
             @Valid @RequestBody LoginRequest request) {
@@ -117,4 +124,32 @@ public class AuthController {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Logout",
+            description = "Revokes the JWT used in this request; it is rejected from then on"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Logout successful",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthenticated",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/logout")
+    public ResponseEntity<dev.victor_rivas.space_management.model.dto.ApiResponse<Void>> logout(
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+
+        logger.info("Logout for username: {}", principal.getUsername());
+        tokenRevocationService.logout(principal);
+
+        return ResponseEntity.ok(
+                dev.victor_rivas.space_management.model.dto.ApiResponse.success("Logout successful", null));
+    }
+}
@@ -3,6 +3,7 @@ package dev.victor_rivas.space_management.controller;
 import dev.victor_rivas.space_management.model.dto.ApiResponse;
 import dev.victor_rivas.space_management.model.dto.SpaceDTO;
 import dev.victor_rivas.space_management.service.SpaceService;
+import dev.victor_rivas.space_management.observability.QueryBudget;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -87,6 +88,7 @@ public class SpaceController {
                     content = @Content(mediaType = "application/json")
             )
     })
+    @QueryBudget(3)
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<SpaceDTO>> getSpaceById(
             @Parameter(description = "Space ID", required = true)
@@ -3,6 +3,7 @@ package dev.victor_rivas.space_management.controller;
 import dev.victor_rivas.space_management.model.dto.ApiResponse;
 import dev.victor_rivas.space_management.model.dto.StudentDTO;
 import dev.victor_rivas.space_management.service.StudentService;
+import dev.victor_rivas.space_management.observability.QueryBudget;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -92,6 +93,7 @@ public class StudentController {
                     content = @Content(mediaType = "application/json")
             )
     })
+    @QueryBudget(2)
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<StudentDTO>> getStudentById(
             @Parameter(description = "Student ID", required = true)
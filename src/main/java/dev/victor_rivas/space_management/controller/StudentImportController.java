@@ -0,0 +1,79 @@
+package dev.victor_rivas.space_management.controller;
+
+import dev.victor_rivas.space_management.exception.BusinessException;
+import dev.victor_rivas.space_management.service.StudentImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/students")
+@RequiredArgsConstructor
+@Tag(name = "Students", description = "Endpoints for student management")
+@SecurityRequirement(name = "bearerAuth")
+public class StudentImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentImportController.class);
+
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final StudentImportService studentImportService;
+
+    @Operation(
+            summary = "Bulk import students",
+            description = "Creates students and their user accounts from CSV (with header) or NDJSON. " +
+                    "Streams back one NDJSON result per input row. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Import processed; each line reports CREATED or REJECTED for one row",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Access denied - ADMIN role required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping(value = "/import",
+            consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public void importStudents(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                               InputStream body,
+                               HttpServletResponse response) throws IOException {
+        StudentImportService.Format format = resolveFormat(contentType);
+        logger.info("Request to import students from {}", format);
+
+        // Los resultados se escriben a medida que se procesa cada bloque
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        studentImportService.importStudents(format, body, response.getOutputStream());
+    }
+
+    private static StudentImportService.Format resolveFormat(MediaType contentType) {
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return StudentImportService.Format.NDJSON;
+        }
+        if (MediaType.parseMediaType(TEXT_CSV_VALUE).isCompatibleWith(contentType)) {
+            return StudentImportService.Format.CSV;
+        }
+        throw new BusinessException("Unsupported import format: " + contentType);
+    }
+}
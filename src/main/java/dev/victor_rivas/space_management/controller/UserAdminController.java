@@ -0,0 +1,109 @@
+package dev.victor_rivas.space_management.controller;
+
+import dev.victor_rivas.space_management.model.dto.ApiResponse;
+import dev.victor_rivas.space_management.service.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@Tag(name = "User administration", description = "Endpoints for user account and token management")
+@SecurityRequirement(name = "bearerAuth")
+public class UserAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserAdminController.class);
+
+    private final TokenRevocationService tokenRevocationService;
+
+    @Operation(
+            summary = "Revoke all tokens of a user",
+            description = "Invalidates every JWT issued to the user so far. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Tokens revoked successfully",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "User not found",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/{id}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> revokeTokens(
+            @Parameter(description = "User ID", required = true)
+            @PathVariable Long id) {
+
+        logger.info("Request to revoke all tokens of user with ID: {}", id);
+        tokenRevocationService.revokeAllTokens(id);
+        return ResponseEntity.ok(ApiResponse.success("Tokens revoked successfully", null));
+    }
+
+    @Operation(
+            summary = "Disable a user",
+            description = "Disables the account and revokes all of its tokens. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "User disabled successfully",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "User not found",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/{id}/disable")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> disableUser(
+            @Parameter(description = "User ID", required = true)
+            @PathVariable Long id) {
+
+        logger.info("Request to disable user with ID: {}", id);
+        tokenRevocationService.setEnabled(id, false);
+        return ResponseEntity.ok(ApiResponse.success("User disabled successfully", null));
+    }
+
+    @Operation(
+            summary = "Enable a user",
+            description = "Re-enables the account. Tokens issued before it was disabled stay revoked. Requires ADMIN role."
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "User enabled successfully",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "User not found",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/{id}/enable")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> enableUser(
+            @Parameter(description = "User ID", required = true)
+            @PathVariable Long id) {
+
+        logger.info("Request to enable user with ID: {}", id);
+        tokenRevocationService.setEnabled(id, true);
+        return ResponseEntity.ok(ApiResponse.success("User enabled successfully", null));
+    }
+}
@@ -0,0 +1,18 @@
+package dev.victor_rivas.space_management.exception;
+
+import lombok.Getter;
+
+/**
+ * La petición no se admite porque un recurso acotado (p. ej. el pool de BCrypt) está saturado.
+ * Se responde con 503 y Retry-After en lugar de dejar la petición ocupando un hilo de Tomcat.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
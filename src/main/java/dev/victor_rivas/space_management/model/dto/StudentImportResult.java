@@ -0,0 +1,25 @@
+package dev.victor_rivas.space_management.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+/**
+ * Resultado de una fila de la importación masiva; se emite una línea NDJSON por fila.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StudentImportResult {
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    private long line;
+    private String registrationNumber;
+    private Status status;
+    private Long studentId;
+    private String message;
+}
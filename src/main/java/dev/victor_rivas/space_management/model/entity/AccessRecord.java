@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 public class AccessRecord {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "access_records_seq")
+    @SequenceGenerator(name = "access_records_seq", sequenceName = "access_records_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
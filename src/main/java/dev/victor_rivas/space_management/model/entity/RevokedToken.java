@@ -0,0 +1,42 @@
+package dev.victor_rivas.space_management.model.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * JWT revocado antes de su expiración (logout). La fila solo es necesaria hasta expiresAt:
+ * después el token ya no es válido por sí mismo y se purga.
+ */
+@Entity
+@Table(name = "revoked_tokens",
+        indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "revoked_tokens_seq")
+    @SequenceGenerator(name = "revoked_tokens_seq", sequenceName = "revoked_tokens_seq", allocationSize = 50)
+    private Long id;
+
+    // Claim jti del token
+    @Column(nullable = false, unique = true, length = 36)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime revokedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        revokedAt = LocalDateTime.now();
+    }
+}
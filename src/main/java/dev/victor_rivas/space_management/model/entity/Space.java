@@ -4,20 +4,31 @@ import dev.victor_rivas.space_management.enums.SpaceStatus;
 import dev.victor_rivas.space_management.enums.SpaceType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "spaces")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Space.CACHE_REGION)
+@NaturalIdCache(region = Space.NATURAL_ID_CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Space {
 
+    public static final String CACHE_REGION = "spaces";
+    public static final String NATURAL_ID_CACHE_REGION = "spaces-by-code";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "spaces_seq")
+    @SequenceGenerator(name = "spaces_seq", sequenceName = "spaces_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId(mutable = true)
     @Column(nullable = false, unique = true, length = 50)
     private String code;
 
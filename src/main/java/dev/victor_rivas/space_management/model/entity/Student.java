@@ -4,20 +4,31 @@ package dev.victor_rivas.space_management.model.entity;
 import dev.victor_rivas.space_management.enums.StudentStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "students")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Student.CACHE_REGION)
+@NaturalIdCache(region = Student.NATURAL_ID_CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Student {
 
+    public static final String CACHE_REGION = "students";
+    public static final String NATURAL_ID_CACHE_REGION = "students-by-registration-number";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_seq", allocationSize = 50)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true, length = 20)
     private String registrationNumber;
 
@@ -3,6 +3,7 @@ package dev.victor_rivas.space_management.model.entity;
 import dev.victor_rivas.space_management.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,7 +20,8 @@ import java.util.List;
 public class User implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 50)
@@ -38,6 +40,12 @@ public class User implements UserDetails {
     @Column(nullable = false)
     private Boolean enabled = true;
 
+    // Se incrementa para invalidar todos los JWT emitidos hasta el momento
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Integer tokenVersion = 0;
+
     @OneToOne
     @JoinColumn(name = "student_id")
     private Student student;
@@ -51,6 +59,9 @@ public class User implements UserDetails {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        if (tokenVersion == null) {
+            tokenVersion = 0;
+        }
     }
 
     @PreUpdate
@@ -0,0 +1,28 @@
+package dev.victor_rivas.space_management.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Registro completo de una entrada o salida. Las fases (búsquedas, inserción, cambio de estado) se
+ * emiten como {@link AccessPhaseEvent} dentro del mismo intervalo y hilo.
+ */
+@Name("space_management.AccessOperation")
+@Label("Access Operation")
+@Category({"Space Management", "Access"})
+@Description("Entry or exit registration")
+@StackTrace(false)
+public class AccessOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Space Id")
+    public long spaceId;
+
+    @Label("Outcome")
+    public String outcome;
+}
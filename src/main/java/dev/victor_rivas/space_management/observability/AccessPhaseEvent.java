@@ -0,0 +1,21 @@
+package dev.victor_rivas.space_management.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("space_management.AccessPhase")
+@Label("Access Phase")
+@Category({"Space Management", "Access"})
+@Description("Single phase of an entry or exit registration")
+@StackTrace(false)
+public class AccessPhaseEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Phase")
+    public String phase;
+}
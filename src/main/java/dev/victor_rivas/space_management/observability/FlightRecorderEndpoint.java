@@ -0,0 +1,139 @@
+package dev.victor_rivas.space_management.observability;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Grabaciones de Java Flight Recorder bajo demanda, sin herramientas externas:
+ * <ul>
+ *     <li>GET /actuator/jfr: estado de la grabación</li>
+ *     <li>POST /actuator/jfr {"configuration": "profile"}: la arranca (por defecto jfr.configuration)</li>
+ *     <li>DELETE /actuator/jfr: la detiene conservando los datos para el volcado</li>
+ *     <li>GET /actuator/jfr/dump: descarga un .jfr con lo grabado hasta ahora</li>
+ * </ul>
+ * Además de los eventos del JDK, la grabación recoge {@link AccessOperationEvent},
+ * {@link AccessPhaseEvent}, {@link ReportGenerationEvent} y {@link JwtVerificationEvent}.
+ * Solo accesible para administradores (ver PublicEndpoints).
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private static final String RECORDING_NAME = "space-management";
+    private static final String DUMP = "dump";
+
+    private final FlightRecorderProperties properties;
+
+    // Acceso serializado con synchronized: solo hay una grabación a la vez
+    private Recording recording;
+    private String recordingConfiguration;
+    private Path lastDump;
+
+    public FlightRecorderEndpoint(FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("name", recording.getName());
+        status.put("configuration", recordingConfiguration);
+        if (recording.getStartTime() != null) {
+            status.put("startTime", recording.getStartTime().toString());
+        }
+        status.put("size", recording.getSize());
+        status.put("maxAge", String.valueOf(recording.getMaxAge()));
+        status.put("maxSize", recording.getMaxSize());
+        if (lastDump != null) {
+            status.put("lastDump", lastDump.toString());
+        }
+        return status;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String configuration) {
+        String name = configuration != null ? configuration : properties.getConfiguration();
+        Configuration settings;
+        try {
+            settings = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new InvalidEndpointRequestException("Unknown JFR configuration: " + name,
+                    "Unknown JFR configuration");
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new InvalidEndpointRequestException("A recording is already running",
+                    "A recording is already running");
+        }
+        if (recording != null) {
+            recording.close();
+        }
+
+        Recording started = new Recording(settings);
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(properties.getMaxAge());
+        started.setMaxSize(properties.getMaxSize().toBytes());
+        started.start();
+        recording = started;
+        recordingConfiguration = name;
+        log.info("JFR recording started with configuration '{}'", name);
+        return status();
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("JFR recording stopped");
+        }
+        return status();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String action) {
+        if (!DUMP.equals(action) || recording == null
+                || recording.getState() == RecordingState.NEW || recording.getState() == RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        try {
+            Files.createDirectories(properties.getDumpDirectory());
+            Path file = properties.getDumpDirectory()
+                    .resolve(RECORDING_NAME + "-" + System.currentTimeMillis() + ".jfr");
+            recording.dump(file);
+            if (lastDump != null) {
+                Files.deleteIfExists(lastDump);
+            }
+            lastDump = file;
+            return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not dump JFR recording", e);
+        }
+    }
+}
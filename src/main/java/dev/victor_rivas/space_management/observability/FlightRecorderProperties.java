@@ -0,0 +1,23 @@
+package dev.victor_rivas.space_management.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "jfr")
+public class FlightRecorderProperties {
+
+    // Configuración JFR del JDK: "default" (~1% de sobrecarga) o "profile" (más detalle, ~2%)
+    private String configuration = "default";
+    // La grabación es circular: conserva como mucho este tiempo y este tamaño
+    private Duration maxAge = Duration.ofMinutes(30);
+    private DataSize maxSize = DataSize.ofMegabytes(256);
+    // Directorio de los volcados descargables; solo se conserva el último
+    private Path dumpDirectory = Path.of(System.getProperty("java.io.tmpdir"), "space-management-jfr");
+}
@@ -0,0 +1,19 @@
+package dev.victor_rivas.space_management.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("space_management.JwtVerification")
+@Label("JWT Verification")
+@Category({"Space Management", "Security"})
+@Description("JWT signature and expiration check")
+@StackTrace(false)
+public class JwtVerificationEvent extends jdk.jfr.Event {
+
+    // cached (caché de tokens verificados), verified o invalid
+    @Label("Result")
+    public String result;
+}
@@ -0,0 +1,23 @@
+package dev.victor_rivas.space_management.observability;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de sentencias SQL que puede lanzar una petición a este endpoint. Superarlo se registra en
+ * http.server.requests.query_budget.exceeded y, con query-metrics.fail-on-budget-exceeded (perfil
+ * de test), hace fallar la petición para que una regresión N+1 rompa los tests de integración.
+ *
+ * <p>Cuenta toda la petición, incluida la comprobación de versión del token en el filtro JWT, y
+ * debe cubrir el caso de cachés frías (sin Student/Space en la caché de segundo nivel).</p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,50 @@
+package dev.victor_rivas.space_management.observability;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Con query-metrics.expose-header añade X-Query-Count y X-Query-Time-Ms a las respuestas. Se hace
+ * justo antes de escribir el cuerpo porque, cuando el filtro recupera el control, la respuesta ya
+ * está confirmada y no admite cabeceras.
+ */
+@ControllerAdvice
+public class QueryCountHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String QUERY_TIME_HEADER = "X-Query-Time-Ms";
+
+    private final QueryMetricsProperties properties;
+
+    public QueryCountHeaderAdvice(QueryMetricsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return properties.isEnabled() && properties.isExposeHeader();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(QUERY_COUNT_HEADER, String.valueOf(stats.getStatements()));
+            response.getHeaders().set(QUERY_TIME_HEADER,
+                    String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos())));
+        }
+        return body;
+    }
+}
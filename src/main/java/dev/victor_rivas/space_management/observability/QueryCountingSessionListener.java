@@ -0,0 +1,51 @@
+package dev.victor_rivas.space_management.observability;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Registrado en cada sesión de Hibernate con hibernate.session.events.auto. Cuenta las sentencias
+ * preparadas y mide la ejecución JDBC (sentencias y lotes) sobre el {@link QueryStats} del hilo.
+ * A diferencia de un StatementInspector, recibe también el inicio y fin de cada ejecución, así que
+ * da el tiempo JDBC sin envolver el DataSource.
+ */
+public class QueryCountingSessionListener implements SessionEventListener {
+
+    // Una sesión se usa desde un solo hilo a la vez: basta con un campo
+    private long executionStart;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.statementPrepared();
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        recordExecution();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        recordExecution();
+    }
+
+    private void recordExecution() {
+        QueryStats stats = QueryStats.current();
+        if (stats != null && executionStart != 0) {
+            stats.jdbcTime(System.nanoTime() - executionStart);
+        }
+        executionStart = 0;
+    }
+}
@@ -0,0 +1,133 @@
+package dev.victor_rivas.space_management.observability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abre un {@link QueryStats} por petición y, al terminar, publica las sentencias SQL y el tiempo
+ * JDBC por endpoint:
+ * <ul>
+ *     <li>http.server.requests.queries{method,uri}: sentencias por petición</li>
+ *     <li>http.server.requests.jdbc{method,uri}: tiempo JDBC por petición</li>
+ *     <li>http.server.requests.query_budget.exceeded{method,uri}: peticiones por encima de su {@link QueryBudget}</li>
+ * </ul>
+ * El tag uri es el patrón del handler (igual que http.server.requests), así que la cardinalidad
+ * está acotada por las rutas; las peticiones sin handler (404, recursos estáticos) no se registran.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    private static final double[] QUERY_SLOS = {1, 2, 3, 5, 10, 20, 50, 100};
+    private static final Duration[] JDBC_SLOS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+            Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250)
+    };
+
+    private final QueryMetricsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetricsFilter(QueryMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryStats.end();
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return;
+        }
+        EndpointMeters endpoint = meters.computeIfAbsent(request.getMethod() + " " + pattern,
+                key -> new EndpointMeters(request.getMethod(), pattern.toString()));
+        endpoint.queries.record(stats.getStatements());
+        endpoint.jdbcTime.record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        checkBudget(request, stats, endpoint);
+    }
+
+    private void checkBudget(HttpServletRequest request, QueryStats stats, EndpointMeters endpoint) {
+        if (!(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler)) {
+            return;
+        }
+        QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+        if (budget == null || stats.getStatements() <= budget.value()) {
+            return;
+        }
+
+        endpoint.budgetExceeded.increment();
+        String message = String.format("%s %s ran %d SQL statements (budget: %d)",
+                endpoint.method, endpoint.uri, stats.getStatements(), budget.value());
+        if (properties.isFailOnBudgetExceeded()) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+
+    private final class EndpointMeters {
+
+        private final String method;
+        private final String uri;
+        private final DistributionSummary queries;
+        private final Timer jdbcTime;
+        private final Counter budgetExceeded;
+
+        private EndpointMeters(String method, String uri) {
+            this.method = method;
+            this.uri = uri;
+            this.queries = DistributionSummary.builder("http.server.requests.queries")
+                    .description("SQL statements executed per HTTP request")
+                    .baseUnit("statements")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .serviceLevelObjectives(QUERY_SLOS)
+                    .register(meterRegistry);
+            this.jdbcTime = Timer.builder("http.server.requests.jdbc")
+                    .description("JDBC execution time per HTTP request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .serviceLevelObjectives(JDBC_SLOS)
+                    .register(meterRegistry);
+            this.budgetExceeded = Counter.builder("http.server.requests.query_budget.exceeded")
+                    .description("HTTP requests that executed more SQL statements than their @QueryBudget")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package dev.victor_rivas.space_management.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "query-metrics")
+public class QueryMetricsProperties {
+
+    private boolean enabled = true;
+    // Devuelve X-Query-Count y X-Query-Time-Ms en las respuestas (solo fuera de producción)
+    private boolean exposeHeader = false;
+    // Una petición que supera su @QueryBudget falla en lugar de solo registrarse
+    private boolean failOnBudgetExceeded = false;
+}
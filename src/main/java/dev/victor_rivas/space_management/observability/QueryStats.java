@@ -0,0 +1,49 @@
+package dev.victor_rivas.space_management.observability;
+
+/**
+ * Sentencias SQL y tiempo JDBC acumulados por la petición HTTP en curso. Lo abre
+ * {@link QueryMetricsFilter} y lo alimenta {@link QueryCountingSessionListener} desde el mismo hilo.
+ */
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long jdbcNanos;
+
+    private QueryStats() {
+    }
+
+    static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Estadísticas de la petición en curso, o null fuera de una petición (tareas programadas, arranque).
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    void statementPrepared() {
+        statements++;
+    }
+
+    void jdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package dev.victor_rivas.space_management.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("space_management.ReportGeneration")
+@Label("Report Generation")
+@Category({"Space Management", "Reports"})
+@Description("Occupancy report generation")
+@StackTrace(false)
+public class ReportGenerationEvent extends jdk.jfr.Event {
+
+    @Label("Report")
+    public String report;
+
+    @Label("Space Id")
+    @Description("0 when the report covers every space")
+    public long spaceId;
+
+    @Label("Spaces")
+    public int spaces;
+}
@@ -0,0 +1,159 @@
+package dev.victor_rivas.space_management.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.BaseStream;
+
+/**
+ * Filas devueltas por cada método de repositorio en repository.invocation.rows{repository,method}.
+ * La latencia ya la mide Spring Boot en spring.data.repository.invocations (con los mismos tags
+ * y los cubos definidos en management.metrics.distribution).
+ * <p>
+ * Una llamada que supera repository-metrics.slow-threshold, termine bien o con excepción, se
+ * registra en el log con la forma de sus parámetros (tipo, tamaño de colecciones, paginación),
+ * nunca con sus valores.
+ */
+@Slf4j
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private static final double[] ROW_SLOS = {1, 10, 50, 100, 500, 1000, 5000, 10000};
+
+    private final RepositoryMetricsProperties properties;
+    private final MeterRegistry meterRegistry;
+    // Por proxy y método: findById se declara una sola vez en CrudRepository para todos los repositorios
+    private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(RepositoryMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            // Un timeout o un bloqueo suelen acabar en excepción: también cuentan como consulta lenta
+            long elapsedNanos = System.nanoTime() - start;
+            if (elapsedNanos > properties.getSlowThreshold().toNanos()) {
+                MethodMeters method = methodMeters(joinPoint);
+                log.warn("Slow query {}#{} failed after {} ms with {}, parameters {}",
+                        method.repository, method.name, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                        e.getClass().getSimpleName(), shape(joinPoint.getArgs()));
+            }
+            throw e;
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        MethodMeters method = methodMeters(joinPoint);
+        long rows = method.rows != null ? rows(result) : -1;
+        if (rows >= 0) {
+            method.rows.record(rows);
+        }
+        if (elapsedNanos > properties.getSlowThreshold().toNanos()) {
+            log.warn("Slow query {}#{}: {} ms, {} rows, parameters {}",
+                    method.repository, method.name, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    rows >= 0 ? rows : "-", shape(joinPoint.getArgs()));
+        }
+        return result;
+    }
+
+    private MethodMeters methodMeters(ProceedingJoinPoint joinPoint) {
+        return meters
+                .computeIfAbsent(joinPoint.getThis().getClass(), type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                        key -> new MethodMeters(RepositoryObservationAspect.repositoryName(joinPoint), key));
+    }
+
+    // -1 cuando el resultado no es un conjunto de filas (Stream, Iterable perezoso)
+    private static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Iterable<?> || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+
+    private static boolean returnsRows(Class<?> type) {
+        return !type.isPrimitive() && !Number.class.isAssignableFrom(type) && type != Boolean.class;
+    }
+
+    static String shape(Object[] args) {
+        StringJoiner shape = new StringJoiner(", ", "(", ")");
+        for (Object arg : args) {
+            if (arg == null) {
+                shape.add("null");
+            } else if (arg instanceof Collection<?> collection) {
+                shape.add(arg.getClass().getSimpleName() + "[" + collection.size() + "]");
+            } else if (arg instanceof Pageable pageable) {
+                shape.add(pageable.isPaged()
+                        ? "Pageable[page=" + pageable.getPageNumber() + ", size=" + pageable.getPageSize() + "]"
+                        : "Pageable[unpaged]");
+            } else if (arg instanceof CharSequence text) {
+                shape.add("String[" + text.length() + "]");
+            } else if (arg instanceof Object[] array) {
+                shape.add(arg.getClass().getComponentType().getSimpleName() + "[" + array.length + "]");
+            } else {
+                // Las entidades pueden llegar como proxy de Hibernate
+                shape.add(Hibernate.getClassLazy(arg).getSimpleName());
+            }
+        }
+        return shape.toString();
+    }
+
+    private final class MethodMeters {
+        private final String repository;
+        private final String name;
+        // null en métodos que no devuelven filas (count, exists, delete...)
+        private final DistributionSummary rows;
+
+        private MethodMeters(String repository, Method method) {
+            this.repository = repository;
+            this.name = method.getName();
+            this.rows = returnsRows(method.getReturnType())
+                    ? DistributionSummary.builder("repository.invocation.rows")
+                    .description("Rows returned by each repository method")
+                    .baseUnit("rows")
+                    .tag("repository", repository)
+                    .tag("method", name)
+                    .serviceLevelObjectives(ROW_SLOS)
+                    .register(meterRegistry)
+                    : null;
+        }
+    }
+}
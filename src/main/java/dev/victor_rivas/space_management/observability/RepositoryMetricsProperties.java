@@ -0,0 +1,17 @@
+package dev.victor_rivas.space_management.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "repository-metrics")
+public class RepositoryMetricsProperties {
+
+    private boolean enabled = true;
+    // Llamadas a repositorio más lentas que esto se registran en el log con la forma de sus parámetros
+    private Duration slowThreshold = Duration.ofMillis(100);
+}
@@ -0,0 +1,56 @@
+package dev.victor_rivas.space_management.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Observa cada llamada a un repositorio de Spring Data (repository.invocation{repository,method}),
+ * de modo que la traza de una petición lenta se descompone en sus accesos a base de datos.
+ * Solo se crea la observación si ya hay una en curso (petición HTTP o servicio observado): las
+ * tareas programadas no generan trazas sueltas por cada consulta.
+ */
+@Aspect
+@Component
+public class RepositoryObservationAspect {
+
+    private final ObservationRegistry observationRegistry;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryObservationAspect(ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (observationRegistry.getCurrentObservation() == null) {
+            return joinPoint.proceed();
+        }
+        String repository = repositoryNames.computeIfAbsent(joinPoint.getThis().getClass(),
+                type -> repositoryName(joinPoint));
+        String method = joinPoint.getSignature().getName();
+        return Observation.createNotStarted("repository.invocation", observationRegistry)
+                .contextualName(repository + "#" + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .observeChecked((Observation.CheckedCallable<Object, Throwable>) joinPoint::proceed);
+    }
+
+    // Los métodos heredados (findById...) se declaran en CrudRepository: se busca la interfaz propia
+    static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis())) {
+            if (Repository.class.isAssignableFrom(type) && !type.getName().startsWith("org.springframework")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
@@ -0,0 +1,127 @@
+package dev.victor_rivas.space_management.observability;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide, en una muestra de las peticiones (request-resources.sample-rate), los bytes asignados y el
+ * tiempo de CPU del hilo que atiende la petición, leídos del ThreadMXBean antes y después:
+ * <ul>
+ *     <li>http.server.requests.allocated{method,uri}: bytes asignados por petición</li>
+ *     <li>http.server.requests.cpu{method,uri}: tiempo de CPU por petición</li>
+ * </ul>
+ * Permite ordenar los endpoints por memoria y CPU por llamada. Solo cuenta el hilo de la petición:
+ * el trabajo delegado a otros hilos (hashing de contraseñas, exportación de trazas) no aparece.
+ */
+@Slf4j
+@Component
+// Por fuera de QueryMetricsFilter, para que su trabajo también cuente en la medición
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class RequestResourceFilter extends OncePerRequestFilter {
+
+    private static final double[] ALLOCATION_SLOS = {
+            64 * 1024, 256 * 1024, 1024 * 1024, 4 * 1024 * 1024, 16 * 1024 * 1024, 64 * 1024 * 1024
+    };
+    private static final Duration[] CPU_SLOS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+            Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250)
+    };
+
+    private final RequestResourceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final boolean allocationSupported;
+    private final boolean cpuSupported;
+    private final Map<String, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public RequestResourceFilter(RequestResourceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean) {
+            this.threadMXBean = bean;
+            this.allocationSupported = bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+            this.cpuSupported = bean.isCurrentThreadCpuTimeSupported() && bean.isThreadCpuTimeEnabled();
+        } else {
+            this.threadMXBean = null;
+            this.allocationSupported = false;
+            this.cpuSupported = false;
+        }
+        if (properties.isEnabled() && !allocationSupported && !cpuSupported) {
+            log.warn("JVM does not expose per-thread allocation or CPU time; per-request resource metrics are disabled");
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || (!allocationSupported && !cpuSupported)
+                || ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long allocatedBefore = allocationSupported ? threadMXBean.getCurrentThreadAllocatedBytes() : 0;
+        long cpuBefore = cpuSupported ? threadMXBean.getCurrentThreadCpuTime() : 0;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = allocationSupported ? threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore : 0;
+            long cpuNanos = cpuSupported ? threadMXBean.getCurrentThreadCpuTime() - cpuBefore : 0;
+
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                EndpointMeters endpoint = meters.computeIfAbsent(request.getMethod() + " " + pattern,
+                        key -> new EndpointMeters(request.getMethod(), pattern.toString()));
+                if (allocationSupported) {
+                    endpoint.allocated.record(allocated);
+                }
+                if (cpuSupported) {
+                    endpoint.cpu.record(cpuNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private final class EndpointMeters {
+
+        private final DistributionSummary allocated;
+        private final Timer cpu;
+
+        private EndpointMeters(String method, String uri) {
+            this.allocated = DistributionSummary.builder("http.server.requests.allocated")
+                    .description("Bytes allocated by the request thread per sampled HTTP request")
+                    .baseUnit("bytes")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .serviceLevelObjectives(ALLOCATION_SLOS)
+                    .register(meterRegistry);
+            this.cpu = Timer.builder("http.server.requests.cpu")
+                    .description("CPU time of the request thread per sampled HTTP request")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .serviceLevelObjectives(CPU_SLOS)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package dev.victor_rivas.space_management.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "request-resources")
+public class RequestResourceProperties {
+
+    private boolean enabled = true;
+    // Fracción de peticiones medidas (0.0 - 1.0); las lecturas del ThreadMXBean no son gratis
+    private double sampleRate = 0.1;
+}
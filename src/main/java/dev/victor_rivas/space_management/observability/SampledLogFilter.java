@@ -0,0 +1,45 @@
+package dev.victor_rivas.space_management.observability;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deja pasar solo una muestra (rate) de los eventos marcados con {@link #SAMPLED} por debajo de
+ * WARN; pensado para los logs de éxito del camino caliente (entradas y salidas). Los errores no
+ * llevan la marca y se registran siempre.
+ * <p>
+ * Es un TurboFilter: decide antes de construir el evento, así que un descarte no formatea el
+ * mensaje ni ocupa sitio en la cola de los appenders asíncronos. Se configura en logback-spring.xml.
+ */
+public class SampledLogFilter extends TurboFilter {
+
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private double rate = 0.1;
+
+    public double getRate() {
+        return rate;
+    }
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level,
+                              String format, Object[] params, Throwable t) {
+        if (marker == null || level == null || level.isGreaterOrEqual(Level.WARN)
+                || !(marker == SAMPLED || marker.contains(SAMPLED))) {
+            return FilterReply.NEUTRAL;
+        }
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate
+                ? FilterReply.NEUTRAL
+                : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,17 @@
+package dev.victor_rivas.space_management.observability;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "tracing.file-export")
+public class SpanFileExportProperties {
+
+    // Escribe las trazas en un fichero JSON Lines en lugar de (o además de) enviarlas por OTLP
+    private boolean enabled = false;
+    private Path path = Path.of("logs", "spans.jsonl");
+}
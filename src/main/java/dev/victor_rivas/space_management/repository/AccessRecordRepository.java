@@ -4,11 +4,13 @@ import dev.victor_rivas.space_management.enums.AccessStatus;
 import dev.victor_rivas.space_management.model.entity.AccessRecord;
 import dev.victor_rivas.space_management.model.entity.Space;
 import dev.victor_rivas.space_management.model.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,8 +20,14 @@ public interface AccessRecordRepository extends JpaRepository<AccessRecord, Long
     List<AccessRecord> findByStudent(Student student);
     List<AccessRecord> findBySpace(Space space);
     List<AccessRecord> findByStatus(AccessStatus status);
+    long countByStatus(AccessStatus status);
     boolean existsBySpaceId(Long spaceId);
     boolean existsByStudentId(Long studentId);
+    boolean existsByStudentIdAndStatus(Long studentId, AccessStatus status);
+    boolean existsByIdIn(Collection<Long> ids);
+    List<AccessRecord> findByStatusInAndEntryTimeBefore(Collection<AccessStatus> statuses,
+                                                        LocalDateTime cutoff,
+                                                        Pageable pageable);
 
     @Query("SELECT ar FROM AccessRecord ar WHERE ar.student = :student AND ar.status = :status")
     List<AccessRecord> findByStudentAndStatus(@Param("student") Student student,
@@ -38,6 +46,11 @@ public interface AccessRecordRepository extends JpaRepository<AccessRecord, Long
             "AND ar.status = 'ACTIVE'")
     Long countActiveAccessBySpace(@Param("space") Space space);
 
+    // Filas [spaceId, count] en una sola consulta para reconstruir la ocupación por espacio
+    @Query("SELECT ar.space.id, COUNT(ar) FROM AccessRecord ar WHERE ar.status = :status " +
+            "GROUP BY ar.space.id")
+    List<Object[]> countByStatusGroupedBySpace(@Param("status") AccessStatus status);
+
     @Query("SELECT ar FROM AccessRecord ar WHERE ar.entryTime BETWEEN :startDate AND :endDate")
     List<AccessRecord> findByEntryTimeBetween(@Param("startDate") LocalDateTime startDate,
                                               @Param("endDate") LocalDateTime endDate);
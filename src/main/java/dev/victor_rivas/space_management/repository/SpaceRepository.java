@@ -8,17 +8,26 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
-public interface SpaceRepository extends JpaRepository<Space, Long> {
-    Optional<Space> findByCode(String code);
+public interface SpaceRepository extends JpaRepository<Space, Long>, SpaceRepositoryCustom {
     List<Space> findByType(SpaceType type);
     List<Space> findByStatus(SpaceStatus status);
     List<Space> findByBuilding(String building);
     boolean existsByCode(String code);
+    long countByStatus(SpaceStatus status);
+
+    // Solo las columnas que necesitan los gauges de ocupación, sin cargar entidades
+    List<CapacityView> findAllProjectedBy();
 
     @Query("SELECT s FROM Space s WHERE s.type = :type AND s.status = :status")
     List<Space> findByTypeAndStatus(@Param("type") SpaceType type,
                                     @Param("status") SpaceStatus status);
-}
\ No newline at end of file
+
+    interface CapacityView {
+        Long getId();
+        String getCode();
+        String getBuilding();
+        Integer getCapacity();
+    }
+}
@@ -0,0 +1,8 @@
+package dev.victor_rivas.space_management.repository;
+
+import dev.victor_rivas.space_management.model.entity.Space;
+import java.util.Optional;
+
+public interface SpaceRepositoryCustom {
+    Optional<Space> findByCode(String code);
+}
@@ -0,0 +1,26 @@
+package dev.victor_rivas.space_management.repository;
+
+import dev.victor_rivas.space_management.model.entity.Space;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Optional;
+
+/**
+ * Búsqueda por código mediante la API de natural-id de Hibernate, que resuelve la clave
+ * desde la caché de segundo nivel en lugar de lanzar una consulta JPQL.
+ */
+@Transactional(readOnly = true)
+class SpaceRepositoryImpl implements SpaceRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Space> findByCode(String code) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Space.class)
+                .loadOptional(code);
+    }
+}
@@ -3,15 +3,30 @@ package dev.victor_rivas.space_management.repository;
 import dev.victor_rivas.space_management.enums.StudentStatus;
 import dev.victor_rivas.space_management.model.entity.Student;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
-    Optional<Student> findByRegistrationNumber(String registrationNumber);
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentRepositoryCustom {
     Optional<Student> findByEmail(String email);
     List<Student> findByStatus(StudentStatus status);
     boolean existsByRegistrationNumber(String registrationNumber);
     boolean existsByEmail(String email);
+
+    @Query("SELECT s.registrationNumber FROM Student s WHERE s.registrationNumber IN :registrationNumbers")
+    Set<String> findExistingRegistrationNumbers(@Param("registrationNumbers") Collection<String> registrationNumbers);
+
+    @Query("SELECT s.email FROM Student s WHERE s.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT s.registrationNumber FROM Student s")
+    List<String> findAllRegistrationNumbers();
+
+    @Query("SELECT s.email FROM Student s")
+    List<String> findAllEmails();
 }
@@ -0,0 +1,8 @@
+package dev.victor_rivas.space_management.repository;
+
+import dev.victor_rivas.space_management.model.entity.Student;
+import java.util.Optional;
+
+public interface StudentRepositoryCustom {
+    Optional<Student> findByRegistrationNumber(String registrationNumber);
+}
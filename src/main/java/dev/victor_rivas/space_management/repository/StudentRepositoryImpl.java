@@ -0,0 +1,26 @@
+package dev.victor_rivas.space_management.repository;
+
+import dev.victor_rivas.space_management.model.entity.Student;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Optional;
+
+/**
+ * Búsqueda por matrícula mediante la API de natural-id de Hibernate (caché de segundo nivel).
+ * Transaccional para que la Session desenvuelta siga abierta fuera de un servicio.
+ */
+@Transactional(readOnly = true)
+class StudentRepositoryImpl implements StudentRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Student> findByRegistrationNumber(String registrationNumber) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Student.class)
+                .loadOptional(registrationNumber);
+    }
+}
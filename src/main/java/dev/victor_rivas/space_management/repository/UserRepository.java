@@ -3,9 +3,14 @@ package dev.victor_rivas.space_management.repository;
 import dev.victor_rivas.space_management.enums.Role;
 import dev.victor_rivas.space_management.model.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -24,4 +29,44 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     boolean existsByStudentId(Long studentId);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.username FROM User u")
+    List<String> findAllUsernames();
+
+    @Query("SELECT u.email FROM User u")
+    List<String> findAllEmails();
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1, u.updatedAt = LOCAL DATETIME " +
+            "WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    // Cambiar el estado también invalida los tokens: reactivar no resucita los emitidos antes
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = :enabled, u.tokenVersion = u.tokenVersion + 1, " +
+            "u.updatedAt = LOCAL DATETIME WHERE u.id = :id")
+    int updateEnabledAndRevokeTokens(@Param("id") Long id, @Param("enabled") boolean enabled);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = LOCAL DATETIME WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    List<TokenState> findAllProjectedBy();
+
+    Optional<TokenState> findTokenStateById(Long id);
+
+    /**
+     * Estado mínimo necesario para validar un JWT sin cargar la entidad User.
+     */
+    interface TokenState {
+        Long getId();
+        Integer getTokenVersion();
+        Boolean getEnabled();
+    }
 }
@@ -0,0 +1,28 @@
+package dev.victor_rivas.space_management.security;
+
+import dev.victor_rivas.space_management.enums.Role;
+import lombok.Value;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.time.Instant;
+
+/**
+ * Principal construido a partir de los claims de un JWT verificado, sin consultar la base de datos.
+ */
+@Value
+public class AuthenticatedUser implements Principal, Serializable {
+    Long userId;
+    String username;
+    Role role;
+    Long studentId;
+    int tokenVersion;
+    // jti y expiración del token, necesarios para revocarlo (logout)
+    String tokenId;
+    Instant expiresAt;
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -1,15 +1,20 @@
 package dev.victor_rivas.space_management.security;
 
+import dev.victor_rivas.space_management.model.entity.User;
 import dev.victor_rivas.space_management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -19,4 +24,18 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .orElseThrow(() -> new UsernameNotFoundException(
                         "User not found with username: " + username));
     }
-}
\ No newline at end of file
+
+    /**
+     * DaoAuthenticationProvider la invoca tras un login correcto cuando el hash guardado usa otro
+     * algoritmo o un coste menor que el actual; la contraseña en claro solo está disponible ahí.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        userRepository.updatePassword(user.getId(), newPassword);
+        user.setPassword(newPassword);
+        log.info("Password hash upgraded for username: {}", user.getUsername());
+        return user;
+    }
+}
@@ -0,0 +1,306 @@
+package dev.victor_rivas.space_management.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.victor_rivas.space_management.exception.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Autentica los tornos con una firma HMAC-SHA256 por petición en lugar de un JWT de usuario
+ * (que exigía un login con BCrypt). El dispositivo envía:
+ *
+ * <pre>
+ * X-Device-Id:        identificador dado de alta en device-auth.devices
+ * X-Device-Timestamp: epoch en milisegundos
+ * X-Device-Signature: Base64(HMAC-SHA256(secret, METHOD + "\n" + PATH + "\n" + TIMESTAMP + "\n" + hex(SHA-256(body))))
+ * </pre>
+ *
+ * <p>Las claves se cargan una vez desde la configuración, así que la verificación no consulta la
+ * base de datos. Se rechazan timestamps fuera de device-auth.replay-window y firmas ya vistas dentro
+ * de ella. La credencial solo vale para registrar entradas y salidas: en cualquier otra ruta las
+ * cabeceras se ignoran y la petición sigue sin autenticar.</p>
+ */
+@Slf4j
+@Component
+public class DeviceAuthenticationFilter extends OncePerRequestFilter {
+
+    static final String DEVICE_ID_HEADER = "X-Device-Id";
+    static final String TIMESTAMP_HEADER = "X-Device-Timestamp";
+    static final String SIGNATURE_HEADER = "X-Device-Signature";
+
+    // Únicas rutas que un dispositivo puede invocar
+    private static final Set<String> DEVICE_PATHS = Set.of("/api/access/entry", "/api/access/exit");
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final List<GrantedAuthority> DEVICE_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_DEVICE"));
+
+    // Mac y MessageDigest no son thread-safe; se reutiliza una instancia por hilo
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final DeviceCredentialsProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, SecretKeySpec> deviceKeys;
+    private final long replayWindowMillis;
+    // Firmas aceptadas recientemente; caducan cuando su timestamp ya no entraría en la ventana
+    private final Cache<String, Boolean> seenSignatures;
+
+    public DeviceAuthenticationFilter(DeviceCredentialsProperties properties,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.deviceKeys = loadKeys(properties.getDevices());
+        this.replayWindowMillis = properties.getReplayWindow().toMillis();
+        this.seenSignatures = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedSignatures())
+                .expireAfterWrite(properties.getReplayWindow().multipliedBy(2))
+                .build();
+    }
+
+    private static Map<String, SecretKeySpec> loadKeys(List<DeviceCredentialsProperties.Device> devices) {
+        Map<String, SecretKeySpec> keys = new HashMap<>();
+        for (DeviceCredentialsProperties.Device device : devices) {
+            byte[] secret = Base64.getDecoder().decode(device.getSecret());
+            if (secret.length < 32) {
+                throw new IllegalStateException("Device key for " + device.getId() + " must be at least 32 bytes");
+            }
+            keys.put(device.getId(), new SecretKeySpec(secret, HMAC_ALGORITHM));
+        }
+        return Map.copyOf(keys);
+    }
+
+    /**
+     * Sin dispositivos configurados, o sin cabecera de dispositivo, no hay nada que verificar.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return deviceKeys.isEmpty() || request.getHeader(DEVICE_ID_HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!"POST".equals(request.getMethod()) || !DEVICE_PATHS.contains(path)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String deviceId = request.getHeader(DEVICE_ID_HEADER);
+        SecretKeySpec key = deviceKeys.get(deviceId);
+        if (key == null) {
+            reject(request, response, "unknown_device");
+            return;
+        }
+
+        String timestamp = request.getHeader(TIMESTAMP_HEADER);
+        String signature = request.getHeader(SIGNATURE_HEADER);
+        if (!StringUtils.hasText(timestamp) || !StringUtils.hasText(signature)) {
+            reject(request, response, "missing_signature");
+            return;
+        }
+        if (!isWithinWindow(timestamp)) {
+            reject(request, response, "expired");
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(properties.getMaxBodyBytes() + 1);
+        if (body.length > properties.getMaxBodyBytes()) {
+            reject(request, response, "body_too_large");
+            return;
+        }
+
+        byte[] expected = sign(key, request.getMethod(), path, timestamp, body);
+        byte[] provided;
+        try {
+            provided = Base64.getDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            provided = null;
+        }
+        if (provided == null || !MessageDigest.isEqual(expected, provided)) {
+            reject(request, response, "bad_signature");
+            return;
+        }
+
+        // Solo tras verificar la firma, para que firmas falsas no llenen la caché
+        if (seenSignatures.asMap().putIfAbsent(deviceId + ':' + signature, Boolean.TRUE) != null) {
+            reject(request, response, "replay");
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(deviceId, null, DEVICE_AUTHORITIES));
+
+        // El cuerpo ya se consumió para calcular el hash: el controlador lee la copia en memoria
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+    }
+
+    private boolean isWithinWindow(String timestamp) {
+        try {
+            long skew = Math.abs(System.currentTimeMillis() - Long.parseLong(timestamp));
+            return skew <= replayWindowMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static byte[] sign(SecretKeySpec key, String method, String path, String timestamp, byte[] body) {
+        MessageDigest digest = SHA_256.get();
+        String bodyHash = HexFormat.of().formatHex(digest.digest(body));
+        String canonical = method + '\n' + path + '\n' + timestamp + '\n' + bodyHash;
+
+        Mac mac = MAC.get();
+        try {
+            mac.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+        return mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void reject(HttpServletRequest request,
+                        HttpServletResponse response,
+                        String reason) throws IOException {
+        Counter.builder("auth.device.rejected")
+                .description("Device requests rejected by signature verification")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        log.warn("Device request rejected ({}) - device: {}, path: {}",
+                reason, request.getHeader(DEVICE_ID_HEADER), request.getRequestURI());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .error(HttpStatus.UNAUTHORIZED.getReasonPhrase())
+                .message("Invalid device credentials")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Petición cuyo cuerpo se sirve desde los bytes ya leídos.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // El cuerpo ya está entero en memoria: se notifica al momento, sin esperar a la red
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
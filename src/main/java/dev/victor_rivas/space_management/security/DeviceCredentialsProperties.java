@@ -0,0 +1,32 @@
+package dev.victor_rivas.space_management.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "device-auth")
+public class DeviceCredentialsProperties {
+
+    // Diferencia máxima entre el timestamp firmado y el reloj del servidor
+    private Duration replayWindow = Duration.ofSeconds(30);
+    // Tamaño máximo del cuerpo que se lee para calcular su hash
+    private int maxBodyBytes = 16 * 1024;
+    // Firmas recordadas para detectar reenvíos dentro de la ventana
+    private long maxTrackedSignatures = 100_000;
+    // Tornos dados de alta; sin dispositivos el filtro no hace nada
+    private List<Device> devices = new ArrayList<>();
+
+    @Data
+    public static class Device {
+        // Identificador enviado en la cabecera X-Device-Id
+        private String id;
+        // Clave HMAC compartida, en Base64 (mínimo 32 bytes)
+        private String secret;
+    }
+}
@@ -1,26 +1,64 @@
 package dev.victor_rivas.space_management.security;
 
+import dev.victor_rivas.space_management.enums.Role;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // Las authorities solo dependen del rol: se crean una vez en lugar de en cada petición
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        Arrays.stream(Role.values()).forEach(role ->
+                AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))));
+    }
+
     private final JwtTokenProvider tokenProvider;
-    private final UserDetailsService userDetailsService;
+    private final TokenVersionRegistry tokenVersionRegistry;
+    private final TokenRevocationList tokenRevocationList;
+
+    private String alreadyFilteredAttributeName;
+
+    /**
+     * Las rutas públicas no necesitan usuario: se evita verificar el token (scrapes de Prometheus,
+     * Swagger, login...). Solo se salta el trabajo del token; la autorización sigue en SecurityConfig.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return PublicEndpoints.isPublic(request.getRequestURI(), request.getContextPath().length());
+    }
+
+    /**
+     * OncePerRequestFilter concatena el nombre en cada petición; se calcula una sola vez.
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        String name = alreadyFilteredAttributeName;
+        if (name == null) {
+            name = super.getAlreadyFilteredAttributeName();
+            alreadyFilteredAttributeName = name;
+        }
+        return name;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -29,17 +67,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.verifyToken(jwt) : null;
+
+            if (claims != null) {
+                AuthenticatedUser principal = tokenProvider.getAuthenticatedUser(claims);
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(request));
+                // El usuario se resuelve desde los claims; solo se comprueba, en memoria,
+                // que el token no esté revocado (por usuario o individualmente)
+                if (principal != null
+                        && tokenVersionRegistry.isCurrent(principal.getUserId(), principal.getTokenVersion())
+                        && !tokenRevocationList.isRevoked(principal.getTokenId())) {
+                    // Sin WebAuthenticationDetails: nada los consume y costaban dos objetos por petición
+                    UsernamePasswordAuthenticationToken authentication =
+                            UsernamePasswordAuthenticationToken.authenticated(
+                                    principal, null, AUTHORITIES.get(principal.getRole()));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
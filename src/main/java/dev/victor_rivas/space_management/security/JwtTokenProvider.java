@@ -1,59 +1,166 @@
 package dev.victor_rivas.space_management.security;
 
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.observability.JwtVerificationEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    // Claims propios: permiten autenticar la petición sin consultar la tabla de usuarios
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_STUDENT_ID = "sid";
+    static final String CLAIM_TOKEN_VERSION = "ver";
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    // La clave y el parser son inmutables y thread-safe: se construyen una sola vez
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    /**
+     * Tokens ya verificados (LRU acotado). Cada entrada caduca con el exp del propio token, así que
+     * un token repetido evita el HMAC y el parseo JSON sin alargar su validez. La revocación no
+     * depende de esta caché: se comprueba después con {@link TokenVersionRegistry}. Es null si
+     * jwt.verified-token-cache-size es 0.
+     */
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtTokenProvider(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.expiration}") long jwtExpiration,
+                            @Value("${jwt.verified-token-cache-size:10000}") long verifiedTokenCacheSize) {
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        this.verifiedTokens = verifiedTokenCacheSize > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(verifiedTokenCacheSize)
+                        .expireAfter(new TokenExpiry())
+                        .<String, Claims>build()
+                : null;
     }
 
     public String generateToken(Authentication authentication) {
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        User user = (User) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
-                .subject(userDetails.getUsername())
+        JwtBuilder builder = Jwts.builder()
+                .subject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        if (user.getStudent() != null) {
+            builder.claim(CLAIM_STUDENT_ID, user.getStudent().getId());
+        }
+
+        return builder
+                .id(UUID.randomUUID().toString())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifica firma y expiración una sola vez y devuelve los claims, o null si el token no es válido.
+     */
+    public Claims verifyToken(String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        Claims claims = verifiedTokens != null ? verifiedTokens.getIfPresent(token) : null;
+        if (claims != null) {
+            commit(event, "cached");
+            return claims;
+        }
+        try {
+            claims = parser.parseSignedClaims(token).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            commit(event, "invalid");
+            return null;
+        }
+        // Solo se cachean tokens válidos con exp, para que tokens basura no desplacen a los buenos
+        if (verifiedTokens != null && claims.getExpiration() != null) {
+            verifiedTokens.put(token, claims);
+        }
+        commit(event, "verified");
+        return claims;
+    }
+
+    private static void commit(JwtVerificationEvent event, String result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.result = result;
+            event.commit();
+        }
+    }
+
+    /**
+     * Construye el principal a partir de los claims. Devuelve null si el token no los incluye
+     * (tokens emitidos antes de que existieran), de modo que el llamador lo trate como no autenticado.
+     */
+    public AuthenticatedUser getAuthenticatedUser(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+        if (userId == null || role == null || tokenVersion == null
+                || claims.getId() == null || claims.getExpiration() == null) {
+            return null;
+        }
+        return new AuthenticatedUser(
+                userId,
+                claims.getSubject(),
+                Role.valueOf(role),
+                claims.get(CLAIM_STUDENT_ID, Long.class),
+                tokenVersion,
+                claims.getId(),
+                claims.getExpiration().toInstant());
+    }
+
     public String getUsernameFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        Claims claims = verifyToken(token);
+        return claims != null ? claims.getSubject() : null;
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+        return verifyToken(token) != null;
+    }
+
+    /**
+     * Caduca cada entrada cuando expira el token; las lecturas no alargan su vida.
+     */
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,69 @@
+package dev.victor_rivas.space_management.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Elige el coste BCrypt al arrancar midiendo el hardware real: el mayor coste cuyo hash tarda
+ * como mucho auth.password-hashing.target-latency, sin bajar de min-strength. Así el coste de
+ * un login es predecible al cambiar de máquina, y los hashes antiguos se actualizan al hacer login
+ * (ver {@link CustomUserDetailsService#updatePassword}).
+ */
+@Slf4j
+@Component
+public class PasswordHashCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    @Getter
+    private final int strength;
+
+    public PasswordHashCalibrator(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.strength = properties.getStrength() != null
+                ? properties.getStrength()
+                : calibrate(properties);
+        Gauge.builder("auth.password.hash.strength", this, PasswordHashCalibrator::getStrength)
+                .description("BCrypt work factor used for new password hashes")
+                .register(meterRegistry);
+    }
+
+    private static int calibrate(PasswordHashingProperties properties) {
+        int minStrength = properties.getMinStrength();
+        long baseNanos = medianHashNanos(minStrength);
+        long targetNanos = properties.getTargetLatency().toNanos();
+
+        // Cada punto de coste duplica el trabajo: se extrapola desde la medida del coste mínimo
+        int selected = minStrength;
+        while (selected < properties.getMaxStrength() && baseNanos << (selected + 1 - minStrength) <= targetNanos) {
+            selected++;
+        }
+
+        log.info("BCrypt calibrated: cost {} takes ~{} ms, selected cost {} (~{} ms) for target {} ms",
+                minStrength, baseNanos / 1_000_000,
+                selected, (baseNanos << (selected - minStrength)) / 1_000_000,
+                properties.getTargetLatency().toMillis());
+        return selected;
+    }
+
+    private static long medianHashNanos(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        // Primera ejecución de calentamiento (JIT)
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
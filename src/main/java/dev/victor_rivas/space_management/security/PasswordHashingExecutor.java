@@ -0,0 +1,107 @@
+package dev.victor_rivas.space_management.security;
+
+import dev.victor_rivas.space_management.constant.ExceptionMessagesConstants;
+import dev.victor_rivas.space_management.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado donde se ejecuta todo el trabajo de BCrypt (login y registro).
+ *
+ * <p>Como mucho {@code poolSize} hashes se calculan a la vez y {@code queueCapacity} peticiones
+ * esperan turno; el resto recibe un 503 inmediato. Así una avalancha de logins no puede ocupar
+ * todos los hilos de Tomcat ni toda la CPU que necesitan /api/access/entry y /exit.</p>
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordHashingProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        BlockingQueue<Runnable> queue = properties.getQueueCapacity() > 0
+                ? new ArrayBlockingQueue<>(properties.getQueueCapacity())
+                : new SynchronousQueue<>();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getPoolSize(), properties.getPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("auth.password.hash.time")
+                .description("Time spent computing password hashes")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .description("Password hashing requests rejected because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashing requests waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes currently being computed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la tarea en el pool y espera su resultado.
+     *
+     * @throws ServiceOverloadedException si el pool y la cola están llenos o se agota la espera
+     */
+    public <T> T execute(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw overloaded();
+        }
+
+        try {
+            return future.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("Password hashing did not complete within {}", properties.getWaitTimeout());
+            throw overloaded();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException(
+                ExceptionMessagesConstants.AUTHENTICATION_BUSY, properties.getRetryAfterSeconds());
+    }
+}
@@ -0,0 +1,30 @@
+package dev.victor_rivas.space_management.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth.password-hashing")
+public class PasswordHashingProperties {
+
+    // Hilos dedicados a BCrypt; por defecto la mitad de los núcleos para dejar CPU a entrada/salida
+    private int poolSize = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // Peticiones que pueden esperar turno; por encima se rechazan de inmediato
+    private int queueCapacity = 32;
+    // Tiempo máximo que una petición espera su resultado antes de responder 503
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    // Valor de la cabecera Retry-After en las respuestas 503
+    private long retryAfterSeconds = 2;
+
+    // Coste BCrypt fijo; si no se indica se calibra al arrancar según targetLatency
+    private Integer strength;
+    // Tiempo objetivo de un hash en este hardware
+    private Duration targetLatency = Duration.ofMillis(150);
+    // Límites de la calibración (10 es el mínimo recomendado para BCrypt)
+    private int minStrength = 10;
+    private int maxStrength = 14;
+}
@@ -0,0 +1,64 @@
+package dev.victor_rivas.space_management.security;
+
+import java.util.Arrays;
+
+/**
+ * Rutas accesibles sin autenticación. {@link SecurityConfig} las declara como permitAll y
+ * {@link JwtAuthenticationFilter} se salta el procesamiento del token en ellas, así que ambos
+ * deben partir de esta misma lista.
+ */
+final class PublicEndpoints {
+
+    static final String[] PATTERNS = {
+            "/api/auth/**",
+            "/actuator/**",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/v3/api-docs/**",
+            "/api-docs/**"
+    };
+
+    // Rutas dentro de PATTERNS que sí necesitan el usuario autenticado
+    static final String LOGOUT = "/api/auth/logout";
+    // Endpoint de grabaciones JFR (y sus subrutas): solo administradores
+    static final String FLIGHT_RECORDER = "/actuator/jfr";
+
+    // "/x/**" se reduce al prefijo "/x"; el resto son rutas exactas
+    private static final String[] PREFIXES = Arrays.stream(PATTERNS)
+            .filter(pattern -> pattern.endsWith("/**"))
+            .map(pattern -> pattern.substring(0, pattern.length() - 3))
+            .toArray(String[]::new);
+    private static final String[] EXACT_PATHS = Arrays.stream(PATTERNS)
+            .filter(pattern -> !pattern.endsWith("/**"))
+            .toArray(String[]::new);
+
+    private PublicEndpoints() {
+    }
+
+    /**
+     * Equivale a los patrones Ant de {@link #PATTERNS} sobre {@code uri} a partir de {@code offset}
+     * (la longitud del context path), sin crear substrings.
+     */
+    static boolean isPublic(String uri, int offset) {
+        int pathLength = uri.length() - offset;
+        if (pathLength == LOGOUT.length() && uri.startsWith(LOGOUT, offset)) {
+            return false;
+        }
+        if (uri.startsWith(FLIGHT_RECORDER, offset) && (pathLength == FLIGHT_RECORDER.length()
+                || uri.charAt(offset + FLIGHT_RECORDER.length()) == '/')) {
+            return false;
+        }
+        for (String prefix : PREFIXES) {
+            if (uri.startsWith(prefix, offset)
+                    && (pathLength == prefix.length() || uri.charAt(offset + prefix.length()) == '/')) {
+                return true;
+            }
+        }
+        for (String path : EXACT_PATHS) {
+            if (pathLength == path.length() && uri.startsWith(path, offset)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
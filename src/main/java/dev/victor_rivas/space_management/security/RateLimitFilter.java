@@ -0,0 +1,183 @@
+package dev.victor_rivas.space_management.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.victor_rivas.space_management.exception.ErrorResponse;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita la tasa de peticiones por IP y por usuario en las rutas configuradas en rate-limit.routes
+ * (login, registro de entrada...). Se ejecuta antes de {@link JwtAuthenticationFilter} para que
+ * una ráfaga rechazada no llegue a verificar tokens ni a calcular BCrypt.
+ *
+ * <p>Una petición solo gasta tokens si todas sus claves la admiten: al rechazarla por una clave
+ * (p. ej. PRINCIPAL) se devuelven los tokens ya tomados de las anteriores (p. ej. IP).</p>
+ *
+ * <p>Los buckets viven en una caché Caffeine acotada (concurrente y con expulsión por inactividad),
+ * así que la memoria no crece con el número de IPs distintas.</p>
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final JwtTokenProvider tokenProvider;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Cache<String, TokenBucket> buckets;
+    // Contador de rechazos por ruta y tipo de clave, registrado una sola vez
+    private final Map<String, Map<RateLimitProperties.KeyType, Counter>> rejectedCounters = new ConcurrentHashMap<>();
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           JwtTokenProvider tokenProvider,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tokenProvider = tokenProvider;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            rejectedCounters.put(route.getName(), registerRejectedCounters(route.getName()));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || properties.getRoutes().isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String principal = null;
+        boolean principalResolved = false;
+        List<TokenBucket> consumed = new ArrayList<>(2);
+
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if (!matches(route, request.getMethod(), path)) {
+                continue;
+            }
+            for (RateLimitProperties.KeyType keyType : route.getKeys()) {
+                String clientId;
+                if (keyType == RateLimitProperties.KeyType.PRINCIPAL) {
+                    if (!principalResolved) {
+                        principal = resolvePrincipal(request);
+                        principalResolved = true;
+                    }
+                    clientId = principal;
+                } else {
+                    clientId = request.getRemoteAddr();
+                }
+                if (clientId == null) {
+                    continue;
+                }
+
+                TokenBucket bucket = bucketFor(route, keyType, clientId);
+                long waitNanos = bucket.tryConsume(System.nanoTime());
+                if (waitNanos > 0) {
+                    consumed.forEach(TokenBucket::refund);
+                    reject(request, response, route, keyType, waitNanos);
+                    return;
+                }
+                consumed.add(bucket);
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean matches(RateLimitProperties.Route route, String method, String path) {
+        return (!StringUtils.hasText(route.getMethod()) || route.getMethod().equalsIgnoreCase(method))
+                && pathMatcher.match(route.getPattern(), path);
+    }
+
+    private TokenBucket bucketFor(RateLimitProperties.Route route,
+                                  RateLimitProperties.KeyType keyType,
+                                  String clientId) {
+        String key = route.getName() + ':' + keyType.name() + ':' + clientId;
+        return buckets.get(key, k ->
+                new TokenBucket(route.getCapacity(), route.getRefillPerSecond(), System.nanoTime()));
+    }
+
+    /**
+     * Usuario del JWT, si lo hay. La verificación queda en la caché de tokens verificados,
+     * así que {@link JwtAuthenticationFilter} no repite el trabajo.
+     */
+    private String resolvePrincipal(HttpServletRequest request) {
+        String bearerToken = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (!StringUtils.hasText(bearerToken) || !bearerToken.startsWith("Bearer ")) {
+            return null;
+        }
+        Claims claims = tokenProvider.verifyToken(bearerToken.substring(7));
+        return claims != null ? claims.getSubject() : null;
+    }
+
+    private Map<RateLimitProperties.KeyType, Counter> registerRejectedCounters(String routeName) {
+        Map<RateLimitProperties.KeyType, Counter> counters = new EnumMap<>(RateLimitProperties.KeyType.class);
+        for (RateLimitProperties.KeyType keyType : RateLimitProperties.KeyType.values()) {
+            counters.put(keyType, Counter.builder("http.rate_limit.rejected")
+                    .description("Requests rejected by the rate limiter")
+                    .tag("route", routeName)
+                    .tag("key", keyType.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        return counters;
+    }
+
+    private void reject(HttpServletRequest request,
+                        HttpServletResponse response,
+                        RateLimitProperties.Route route,
+                        RateLimitProperties.KeyType keyType,
+                        long waitNanos) throws IOException {
+        rejectedCounters.computeIfAbsent(route.getName(), this::registerRejectedCounters)
+                .get(keyType)
+                .increment();
+        log.debug("Rate limit exceeded on route {} for {} key", route.getName(), keyType);
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message("Too many requests, please retry later")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,42 @@
+package dev.victor_rivas.space_management.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    // Máximo de buckets en memoria (cliente x ruta); al superarlo se expulsan los menos usados
+    private long maxTrackedClients = 100_000;
+    // Un bucket sin peticiones durante este tiempo se descarta (volvería a estar lleno de todos modos)
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private List<Route> routes = new ArrayList<>();
+
+    public enum KeyType {
+        IP, PRINCIPAL
+    }
+
+    @Data
+    public static class Route {
+        // Nombre usado en las claves de los buckets y en el tag de las métricas
+        private String name;
+        // Método HTTP; vacío aplica a todos
+        private String method;
+        // Patrón de ruta (estilo Ant, p. ej. /api/access/**)
+        private String pattern;
+        // Ráfaga máxima admitida
+        private int capacity;
+        // Tokens que se recuperan por segundo
+        private double refillPerSecond;
+        // Un bucket por IP, por usuario autenticado, o ambos
+        private List<KeyType> keys = List.of(KeyType.IP);
+    }
+}
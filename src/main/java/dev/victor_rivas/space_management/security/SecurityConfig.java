@@ -3,6 +3,8 @@ package dev.victor_rivas.space_management.security;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -11,8 +13,8 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
@@ -21,6 +23,8 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.util.Map;
+
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -28,8 +32,12 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
-    private final UserDetailsService userDetailsService;
+    private final RateLimitFilter rateLimitFilter;
+    private final DeviceAuthenticationFilter deviceAuthenticationFilter;
+    private final CustomUserDetailsService userDetailsService;
     private final CorsProperties corsProperties;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordHashCalibrator passwordHashCalibrator;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -39,15 +47,11 @@ public class SecurityConfig {
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers(HttpMethod.POST, PublicEndpoints.LOGOUT).authenticated()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
-                        .requestMatchers("/actuator/**").permitAll()
-                        .requestMatchers(
-                                "/swagger-ui/**",
-                                "/swagger-ui.html",
-                                "/v3/api-docs/**",
-                                "/api-docs/**"
-                        ).permitAll()
+                        .requestMatchers(PublicEndpoints.FLIGHT_RECORDER, PublicEndpoints.FLIGHT_RECORDER + "/**").hasRole("ADMIN")
+                        // Misma lista que usa JwtAuthenticationFilter para no procesar el token
+                        .requestMatchers(PublicEndpoints.PATTERNS).permitAll()
                         .anyRequest().authenticated()
                 )
                 .exceptionHandling(exceptions -> exceptions
@@ -55,7 +59,11 @@ public class SecurityConfig {
                 )
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthenticationFilter,
-                        UsernamePasswordAuthenticationFilter.class);
+                        UsernamePasswordAuthenticationFilter.class)
+                // Los tornos se autentican por firma HMAC, sin JWT de usuario
+                .addFilterBefore(deviceAuthenticationFilter, JwtAuthenticationFilter.class)
+                // Las ráfagas se rechazan antes de verificar firmas o el JWT
+                .addFilterBefore(rateLimitFilter, DeviceAuthenticationFilter.class);
 
         return http.build();
     }
@@ -65,6 +73,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Rehash tras un login correcto si el hash guardado es antiguo o de menor coste
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -74,9 +84,35 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * Encoder sin acotar, para procesos por lotes que ya usan su propio pool (importación de estudiantes).
+     */
+    @Bean
+    public PasswordEncoder hashingPasswordEncoder() {
+        // Los hashes nuevos llevan el prefijo {bcrypt} con el coste calibrado; los antiguos
+        // sin prefijo (p. ej. los de data.sql) se siguen validando como BCrypt
+        String encodingId = "bcrypt";
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(passwordHashCalibrator.getStrength());
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(encodingId, Map.of(encodingId, bcrypt)) {
+            @Override
+            public boolean upgradeEncoding(String prefixEncodedPassword) {
+                // Sin prefijo DelegatingPasswordEncoder lo rehace siempre, aunque el coste calibrado
+                // sea menor que el guardado ($2a$12$ de data.sql): solo se rehace si su coste es menor
+                if (prefixEncodedPassword != null && !prefixEncodedPassword.startsWith("{")) {
+                    return bcrypt.upgradeEncoding(prefixEncodedPassword);
+                }
+                return super.upgradeEncoding(prefixEncodedPassword);
+            }
+        };
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
     @Bean
+    @Primary
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // BCrypt se calcula en un pool acotado para no agotar los hilos de las peticiones
+        return new BoundedPasswordEncoder(hashingPasswordEncoder(), passwordHashingExecutor);
     }
 
     @Bean
@@ -0,0 +1,47 @@
+package dev.victor_rivas.space_management.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos implementado como GCRA: el estado es un único instante teórico de
+ * llegada (TAT) que se actualiza con CAS, equivalente a un bucket de {@code capacity} tokens que
+ * se rellena a {@code refillPerSecond}.
+ */
+final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Intenta consumir un token.
+     *
+     * @return 0 si se admite, o los nanosegundos que faltan para que haya un token disponible
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devuelve un token consumido con {@link #tryConsume} cuando la petición se rechaza por otra clave.
+     */
+    void refund() {
+        theoreticalArrival.addAndGet(-emissionIntervalNanos);
+    }
+}
@@ -0,0 +1,104 @@
+package dev.victor_rivas.space_management.security;
+
+import dev.victor_rivas.space_management.repository.RevokedTokenRepository;
+import dev.victor_rivas.space_management.util.BloomFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copia en memoria de los JWT revocados (tabla revoked_tokens) para comprobar la revocación
+ * sin E/S en cada petición. El caso habitual, token no revocado, se resuelve con unas pocas
+ * comprobaciones de bits en el filtro de Bloom; solo sus positivos consultan el conjunto exacto.
+ *
+ * <p>La copia se reconstruye periódicamente, lo que además descarta los tokens ya expirados. Las
+ * revocaciones hechas en este nodo se añaden al momento; las de otros nodos llegan con el siguiente
+ * refresco (jwt.revocation-refresh-ms).</p>
+ *
+ * <p>{@link #add} y el cambio de copia en {@link #refresh} se serializan con el monitor de la clase
+ * para que ninguna revocación local se escriba en una copia ya sustituida. Las lecturas no bloquean.</p>
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 1024;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository, MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        Gauge.builder("auth.tokens.revoked", this, list -> list.snapshot.tokenIds.size())
+                .description("Unexpired revoked tokens held in memory")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        Snapshot current = snapshot;
+        return current.bloom.mightContain(tokenId) && current.tokenIds.contains(tokenId);
+    }
+
+    /**
+     * Marca un token como revocado en este nodo; la persistencia la hace el llamador.
+     */
+    public synchronized void add(String tokenId, Instant expiresAt) {
+        Snapshot current = snapshot;
+        current.localAdditions.put(tokenId, expiresAt);
+        // El conjunto exacto primero: así un positivo del Bloom siempre encuentra el id
+        current.tokenIds.add(tokenId);
+        current.bloom.put(tokenId);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.revocation-refresh-ms:30000}",
+            initialDelayString = "${jwt.revocation-refresh-ms:30000}")
+    public void refresh() {
+        try {
+            // La consulta, fuera del monitor: solo el cambio de copia bloquea a add()
+            Snapshot rebuilt = Snapshot.of(revokedTokenRepository.findActiveTokenIds(LocalDateTime.now()));
+            synchronized (this) {
+                Snapshot previous = snapshot;
+                snapshot = rebuilt;
+                // Las revocaciones locales que la consulta aún no veía (transacción sin confirmar o
+                // hecha durante el refresco) se arrastran hasta que aparezcan en la tabla o expiren
+                Instant now = Instant.now();
+                previous.localAdditions.forEach((tokenId, expiresAt) -> {
+                    if (!rebuilt.tokenIds.contains(tokenId) && expiresAt.isAfter(now)) {
+                        add(tokenId, expiresAt);
+                    }
+                });
+            }
+            log.debug("Token revocation list rebuilt with {} tokens", rebuilt.tokenIds.size());
+        } catch (Exception e) {
+            log.warn("Could not refresh token revocation list: {}", e.getMessage());
+        }
+    }
+
+    private record Snapshot(BloomFilter bloom, Set<String> tokenIds, Map<String, Instant> localAdditions) {
+
+        static Snapshot of(List<String> tokenIds) {
+            // Margen para las revocaciones que se añadan antes del próximo refresco
+            BloomFilter bloom = new BloomFilter(Math.max(MIN_CAPACITY, tokenIds.size() * 2), FALSE_POSITIVE_RATE);
+            Set<String> exact = ConcurrentHashMap.newKeySet(tokenIds.size());
+            for (String tokenId : tokenIds) {
+                exact.add(tokenId);
+                bloom.put(tokenId);
+            }
+            return new Snapshot(bloom, exact, new ConcurrentHashMap<>());
+        }
+    }
+}
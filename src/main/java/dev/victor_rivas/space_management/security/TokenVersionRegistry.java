@@ -0,0 +1,110 @@
+package dev.victor_rivas.space_management.security;
+
+import dev.victor_rivas.space_management.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copia en memoria de la versión de token vigente de cada usuario, refrescada periódicamente.
+ * Un JWT solo es válido si su claim de versión coincide con la versión actual del usuario y
+ * el usuario sigue existiendo y habilitado; así la revocación no requiere una consulta por petición.
+ *
+ * <p>Los usuarios que aún no están en la copia (por ejemplo, registrados en otro nodo después del
+ * último refresco) se resuelven con una única consulta y quedan cacheados hasta el siguiente refresco.</p>
+ *
+ * <p>Las consultas se hacen sin bloquear, pero su resultado se instala bajo el monitor de la clase,
+ * igual que {@link #invalidate}: una lectura que empezó antes de una invalidación no vuelve a dejar
+ * la versión anterior en la copia. Las lecturas de {@link #isCurrent} no bloquean.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+    /** Valor para usuarios deshabilitados o eliminados: ningún token coincide con él */
+    static final int REJECTED = -1;
+
+    private final UserRepository userRepository;
+
+    private volatile Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    // Protegidos por el monitor: número de invalidaciones hechas, la última de cada usuario aún no
+    // cubierta por un refresco y el punto de partida de la copia instalada
+    private long invalidations;
+    private final Map<Long, Long> invalidatedAt = new HashMap<>();
+    private long snapshotStart;
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        Integer current = versions.get(userId);
+        if (current == null) {
+            long start = currentInvalidations();
+            current = userRepository.findTokenStateById(userId)
+                    .map(TokenVersionRegistry::versionOf)
+                    .orElse(REJECTED);
+            synchronized (this) {
+                // Con alguna invalidación durante la consulta el valor puede ser anterior: no se cachea
+                if (invalidations == start) {
+                    versions.putIfAbsent(userId, current);
+                }
+            }
+        }
+        return current != REJECTED && current == tokenVersion;
+    }
+
+    /**
+     * Descarta la versión conocida de un usuario tras cambiarla (revocación, alta/baja), para que
+     * la siguiente petición la lea de la base de datos sin esperar al refresco.
+     */
+    public synchronized void invalidate(Long userId) {
+        versions.remove(userId);
+        invalidatedAt.put(userId, ++invalidations);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jwt.token-version-refresh-ms:30000}",
+            initialDelayString = "${jwt.token-version-refresh-ms:30000}")
+    public void refresh() {
+        try {
+            long start = currentInvalidations();
+            // La consulta, fuera del monitor: solo el cambio de copia bloquea a invalidate()
+            Map<Long, Integer> snapshot = new ConcurrentHashMap<>();
+            for (UserRepository.TokenState state : userRepository.findAllProjectedBy()) {
+                snapshot.put(state.getId(), versionOf(state));
+            }
+            synchronized (this) {
+                if (start < snapshotStart) {
+                    // Un refresco posterior ya instaló una copia más reciente
+                    return;
+                }
+                // Los usuarios invalidados durante la consulta se vuelven a leer en su siguiente petición
+                invalidatedAt.forEach((userId, invalidation) -> {
+                    if (invalidation > start) {
+                        snapshot.remove(userId);
+                    }
+                });
+                invalidatedAt.values().removeIf(invalidation -> invalidation <= start);
+                snapshotStart = start;
+                versions = snapshot;
+            }
+            log.debug("Token version registry refreshed with {} users", snapshot.size());
+        } catch (Exception e) {
+            log.warn("Could not refresh token version registry: {}", e.getMessage());
+        }
+    }
+
+    private synchronized long currentInvalidations() {
+        return invalidations;
+    }
+
+    private static int versionOf(UserRepository.TokenState state) {
+        return Boolean.TRUE.equals(state.getEnabled()) ? state.getTokenVersion() : REJECTED;
+    }
+}
@@ -0,0 +1,29 @@
+package dev.victor_rivas.space_management.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "access-records.partitioning")
+public class AccessRecordPartitionProperties {
+
+    /** Activa el particionado mensual de access_records (solo PostgreSQL) */
+    private boolean enabled = false;
+
+    /**
+     * Ejecuta al arrancar db/partition-access-records.sql si la tabla no está particionada. Bloquea
+     * y copia todo el historial: lo normal es lanzar el script a mano en una ventana de mantenimiento
+     */
+    private boolean migrateExistingTable = false;
+
+    /** Meses futuros para los que se crean particiones por adelantado */
+    private int premakeMonths = 3;
+
+    /** Meses de historial a conservar; 0 conserva todas las particiones */
+    private int retentionMonths = 0;
+
+    /** Si es true las particiones expiradas se eliminan; si no, solo se desvinculan */
+    private boolean dropExpired = false;
+}
@@ -0,0 +1,160 @@
+package dev.victor_rivas.space_management.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mantiene access_records como tabla particionada por rango mensual de entry_time en PostgreSQL:
+ * crea las particiones futuras por adelantado y desvincula/elimina las que superan la retención.
+ * La conversión inicial de la tabla es el script db/partition-access-records.sql, pensado para
+ * lanzarse a mano en una ventana de mantenimiento. En otros motores (H2 en el perfil test) no hace nada.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AccessRecordPartitionService {
+
+    private static final String TABLE = "access_records";
+    private static final String MIGRATION_SCRIPT = "db/partition-access-records.sql";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("^" + TABLE + "_(\\d{4})_(\\d{2})$");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final AccessRecordPartitionProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${access-records.partitioning.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        if (!properties.isEnabled() || !isPostgres()) {
+            return;
+        }
+
+        try {
+            if (!isPartitioned() || !isActiveStudentGuardInstalled()) {
+                if (!properties.isMigrateExistingTable()) {
+                    log.warn("Table {} is not partitioned or lacks the ACTIVE guard; run {} in a " +
+                            "maintenance window. Skipping partition maintenance", TABLE, MIGRATION_SCRIPT);
+                    return;
+                }
+                migrateToPartitionedTable();
+            }
+
+            YearMonth current = YearMonth.now();
+            for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+                createPartition(current.plusMonths(i));
+            }
+
+            if (properties.getRetentionMonths() > 0) {
+                expirePartitionsBefore(current.minusMonths(properties.getRetentionMonths()));
+            }
+        } catch (Exception e) {
+            log.error("Access record partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isPostgres() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource,
+                    DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (Exception e) {
+            log.warn("Could not determine database product: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isPartitioned() {
+        String relkind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return "p".equals(relkind);
+    }
+
+    /**
+     * Ejecuta el script revisado de migración (ver su cabecera). El script gestiona su propia
+     * transacción, así que se envía entero fuera de cualquier transacción de Spring; el driver
+     * de PostgreSQL acepta varias sentencias y bloques $$ en una sola llamada.
+     */
+    private void migrateToPartitionedTable() {
+        log.info("Migrating {} to a range-partitioned table on entry_time with {}", TABLE, MIGRATION_SCRIPT);
+        try {
+            String script = new ClassPathResource(MIGRATION_SCRIPT).getContentAsString(StandardCharsets.UTF_8);
+            jdbcTemplate.execute(script);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + MIGRATION_SCRIPT, e);
+        }
+    }
+
+    private boolean isActiveStudentGuardInstalled() {
+        Boolean installed = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = 'trg_access_records_active_guard')",
+                Boolean.class);
+        return Boolean.TRUE.equals(installed);
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partition +
+                " PARTITION OF access_records FOR VALUES FROM ('" + month.atDay(1) +
+                "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void expirePartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname::text FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "WHERE i.inhparent = to_regclass(?)", String.class, TABLE);
+
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(cutoff)) {
+                continue;
+            }
+
+            Boolean hasActive = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + partition + " WHERE status = 'ACTIVE')", Boolean.class);
+            if (Boolean.TRUE.equals(hasActive)) {
+                log.warn("Partition {} is past retention but still has ACTIVE accesses; keeping it", partition);
+                continue;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE access_records DETACH PARTITION " + partition);
+            if (properties.isDropExpired()) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped expired access record partition {}", partition);
+            } else {
+                log.info("Detached expired access record partition {}", partition);
+            }
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -1,5 +1,8 @@
 package dev.victor_rivas.space_management.service;
 
+import dev.victor_rivas.space_management.archive.AccessArchiveStore;
+import dev.victor_rivas.space_management.archive.ArchivedAccessRecord;
+import dev.victor_rivas.space_management.constant.ExceptionMessagesConstants;
 import dev.victor_rivas.space_management.enums.AccessStatus;
 import dev.victor_rivas.space_management.enums.SpaceStatus;
 import dev.victor_rivas.space_management.enums.StudentStatus;
@@ -14,51 +17,73 @@ import dev.victor_rivas.space_management.model.entity.Student;
 import dev.victor_rivas.space_management.repository.AccessRecordRepository;
 import dev.victor_rivas.space_management.repository.SpaceRepository;
 import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.service.MetricsService.AccessOutcome;
+import dev.victor_rivas.space_management.service.MetricsService.AccessPhase;
 import io.micrometer.core.annotation.Timed;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "access.record.service")
 public class AccessRecordService {
 
+    private static final String ACTIVE_STUDENT_INDEX = "uk_access_records_active_student";
+
     private final AccessRecordRepository accessRecordRepository;
     private final StudentRepository studentRepository;
     private final SpaceRepository spaceRepository;
     private final MetricsService metricsService;
+    private final AccessArchiveStore accessArchiveStore;
 
+    /**
+     * Cada fase (búsquedas, comprobaciones, inserción, cambio de estado) se mide por separado en
+     * access.phase.time y cada rechazo se cuenta por motivo en access.outcome. El tiempo total
+     * lo mide solo space.entry.registration.time.
+     */
     @Transactional
-    @Timed(value = "space.entry.register", description = "Time to register an entry")
     public AccessRecordDTO registerEntry(EntryRequest request) {
-        return metricsService.getEntryRegistrationTimer().record(() -> {
-            Student student = studentRepository.findById(request.getStudentId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        return metricsService.timeEntryRegistration(request.getSpaceId(), () -> {
+            Student student = metricsService.timePhase(AccessPhase.ENTRY_STUDENT_LOOKUP, () ->
+                    studentRepository.findById(request.getStudentId()))
+                    .orElseThrow(() -> reject(AccessOutcome.ENTRY_STUDENT_NOT_FOUND,
+                            new ResourceNotFoundException("Student not found")));
 
             if (student.getStatus() != StudentStatus.ACTIVE) {
-                throw new BusinessException("Student is not active");
+                throw reject(AccessOutcome.ENTRY_INACTIVE, new BusinessException("Student is not active"));
             }
 
-            Space space = spaceRepository.findById(request.getSpaceId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Space not found"));
+            Space space = metricsService.timePhase(AccessPhase.ENTRY_SPACE_LOOKUP, () ->
+                    spaceRepository.findById(request.getSpaceId()))
+                    .orElseThrow(() -> reject(AccessOutcome.ENTRY_SPACE_NOT_FOUND,
+                            new ResourceNotFoundException("Space not found")));
 
             if (space.getStatus() != SpaceStatus.AVAILABLE &&
                     space.getStatus() != SpaceStatus.OCCUPIED) {
-                throw new BusinessException("Space is not available");
+                throw reject(AccessOutcome.ENTRY_UNAVAILABLE, new BusinessException("Space is not available"));
             }
 
-            List<AccessRecord> studentActiveAccesses = accessRecordRepository
-                    .findByStudentAndStatus(student, AccessStatus.ACTIVE);
-
-            if (!studentActiveAccesses.isEmpty()) {
-                throw new BusinessException("Student already has an active access in a space");
+            // Sondeo barato; la garantía real es el índice único parcial uk_access_records_active_student
+            if (metricsService.timePhase(AccessPhase.ENTRY_ACTIVE_CHECK, () ->
+                    accessRecordRepository.existsByStudentIdAndStatus(student.getId(), AccessStatus.ACTIVE))) {
+                throw reject(AccessOutcome.ENTRY_DUPLICATE,
+                        new BusinessException(ExceptionMessagesConstants.STUDENT_ALREADY_ACTIVE));
             }
 
-            Long currentOccupancy = accessRecordRepository.countActiveAccessBySpace(space);
+            Long currentOccupancy = metricsService.timePhase(AccessPhase.ENTRY_OCCUPANCY_COUNT, () ->
+                    accessRecordRepository.countActiveAccessBySpace(space));
             if (currentOccupancy >= space.getCapacity()) {
-                throw new BusinessException("Space has reached maximum capacity");
+                throw reject(AccessOutcome.ENTRY_FULL, new BusinessException("Space has reached maximum capacity"));
             }
 
             AccessRecord accessRecord = AccessRecord.builder()
@@ -69,29 +94,62 @@ public class AccessRecordService {
                     .notes(request.getNotes())
                     .build();
 
-            accessRecord = accessRecordRepository.save(accessRecord);
+            AccessRecord saved = metricsService.timePhase(AccessPhase.ENTRY_INSERT, () ->
+                    saveActiveAccess(accessRecord));
 
             if (currentOccupancy + 1 >= space.getCapacity() || space.getStatus() == SpaceStatus.AVAILABLE) {
+                metricsService.recordSpaceStatusChange(space.getStatus(), SpaceStatus.OCCUPIED);
                 space.setStatus(SpaceStatus.OCCUPIED);
-                spaceRepository.save(space);
+                // saveAndFlush para que el UPDATE cuente en su fase y no en el commit
+                metricsService.timePhase(AccessPhase.ENTRY_STATUS_UPDATE, () -> spaceRepository.saveAndFlush(space));
             }
 
             // Registrar métrica
-            metricsService.recordEntry();
+            metricsService.recordEntry(space);
+            metricsService.recordOutcome(AccessOutcome.ENTRY_ACCEPTED);
 
-            return convertToDTO(accessRecord);
+            return convertToDTO(saved);
         });
     }
 
+    /**
+     * Inserta el registro de forma inmediata para que un escaneo duplicado concurrente
+     * choque contra el índice único parcial y se traduzca al error de negocio habitual.
+     */
+    private AccessRecord saveActiveAccess(AccessRecord accessRecord) {
+        try {
+            return accessRecordRepository.saveAndFlush(accessRecord);
+        } catch (DataIntegrityViolationException e) {
+            if (isActiveStudentViolation(e)) {
+                throw reject(AccessOutcome.ENTRY_DUPLICATE,
+                        new BusinessException(ExceptionMessagesConstants.STUDENT_ALREADY_ACTIVE));
+            }
+            throw e;
+        }
+    }
+
+    private boolean isActiveStudentViolation(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null &&
+                message.toLowerCase(Locale.ROOT).contains(ACTIVE_STUDENT_INDEX);
+    }
+
+    private <E extends RuntimeException> E reject(AccessOutcome outcome, E exception) {
+        metricsService.recordOutcome(outcome);
+        return exception;
+    }
+
     @Transactional
-    @Timed(value = "space.exit.register", description = "Time to register an exit")
     public AccessRecordDTO registerExit(ExitRequest request) {
-        return metricsService.getExitRegistrationTimer().record(() -> {
-            AccessRecord accessRecord = accessRecordRepository.findById(request.getAccessRecordId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Access record not found"));
+        return metricsService.timeExitRegistration(() -> {
+            AccessRecord accessRecord = metricsService.timePhase(AccessPhase.EXIT_RECORD_LOOKUP, () ->
+                    accessRecordRepository.findById(request.getAccessRecordId()))
+                    .orElseThrow(() -> reject(AccessOutcome.EXIT_NOT_FOUND,
+                            new ResourceNotFoundException("Access record not found")));
+            metricsService.recordAccessSpace(accessRecord.getSpace().getId());
 
             if (accessRecord.getStatus() != AccessStatus.ACTIVE) {
-                throw new BusinessException("Access record is not active");
+                throw reject(AccessOutcome.EXIT_NOT_ACTIVE, new BusinessException("Access record is not active"));
             }
 
             accessRecord.setExitTime(LocalDateTime.now());
@@ -103,31 +161,36 @@ public class AccessRecordService {
                         request.getNotes());
             }
 
-            accessRecord = accessRecordRepository.save(accessRecord);
+            AccessRecord saved = metricsService.timePhase(AccessPhase.EXIT_UPDATE, () ->
+                    accessRecordRepository.saveAndFlush(accessRecord));
 
-            Space space = accessRecord.getSpace();
-            Long currentOccupancy = accessRecordRepository.countActiveAccessBySpace(space);
+            Space space = saved.getSpace();
+            Long currentOccupancy = metricsService.timePhase(AccessPhase.EXIT_OCCUPANCY_COUNT, () ->
+                    accessRecordRepository.countActiveAccessBySpace(space));
+            SpaceStatus previousStatus = space.getStatus();
 
             if (currentOccupancy == 0) {
                 space.setStatus(SpaceStatus.AVAILABLE);
             } else if (currentOccupancy < space.getCapacity()) {
                 space.setStatus(SpaceStatus.OCCUPIED);
             }
-            spaceRepository.save(space);
+            metricsService.timePhase(AccessPhase.EXIT_STATUS_UPDATE, () -> spaceRepository.saveAndFlush(space));
+            metricsService.recordSpaceStatusChange(previousStatus, space.getStatus());
 
             // Registrar métrica
-            metricsService.recordExit();
+            metricsService.recordExit(space);
+            metricsService.recordOutcome(AccessOutcome.EXIT_ACCEPTED);
 
-            return convertToDTO(accessRecord);
+            return convertToDTO(saved);
         });
     }
 
     @Transactional(readOnly = true)
     @Timed(value = "access.records.get.all", description = "Time to get all access records")
     public List<AccessRecordDTO> getAllAccessRecords() {
-        return accessRecordRepository.findAll().stream()
+        return withArchived(accessRecordRepository.findAll().stream()
                 .map(this::convertToDTO)
-                .toList();
+                .toList(), accessArchiveStore.findAll());
     }
 
     @Transactional(readOnly = true)
@@ -136,9 +199,9 @@ public class AccessRecordService {
         Student student = studentRepository.findById(studentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
 
-        return accessRecordRepository.findByStudent(student).stream()
+        return withArchived(accessRecordRepository.findByStudent(student).stream()
                 .map(this::convertToDTO)
-                .toList();
+                .toList(), accessArchiveStore.findByStudent(studentId));
     }
 
     @Transactional(readOnly = true)
@@ -147,9 +210,9 @@ public class AccessRecordService {
         Space space = spaceRepository.findById(spaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Space not found"));
 
-        return accessRecordRepository.findBySpace(space).stream()
+        return withArchived(accessRecordRepository.findBySpace(space).stream()
                 .map(this::convertToDTO)
-                .toList();
+                .toList(), accessArchiveStore.findBySpace(spaceId));
     }
 
     @Transactional(readOnly = true)
@@ -160,6 +223,47 @@ public class AccessRecordService {
                 .toList();
     }
 
+    /**
+     * Añade a los registros vivos los accesos archivados, resolviendo estudiantes y espacios
+     * con una consulta por tipo en lugar de una por registro.
+     */
+    private List<AccessRecordDTO> withArchived(List<AccessRecordDTO> records,
+                                               List<ArchivedAccessRecord> archived) {
+        if (archived.isEmpty()) {
+            return records;
+        }
+
+        Map<Long, Student> students = studentRepository.findAllById(archived.stream()
+                        .map(ArchivedAccessRecord::getStudentId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Map<Long, Space> spaces = spaceRepository.findAllById(archived.stream()
+                        .map(ArchivedAccessRecord::getSpaceId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Space::getId, Function.identity()));
+
+        List<AccessRecordDTO> result = new ArrayList<>(archived.size() + records.size());
+        for (ArchivedAccessRecord record : archived) {
+            Student student = students.get(record.getStudentId());
+            Space space = spaces.get(record.getSpaceId());
+            result.add(AccessRecordDTO.builder()
+                    .id(record.getId())
+                    .studentId(record.getStudentId())
+                    .studentName(student != null ? student.getName() : null)
+                    .studentRegistrationNumber(student != null ? student.getRegistrationNumber() : null)
+                    .spaceId(record.getSpaceId())
+                    .spaceName(space != null ? space.getName() : null)
+                    .spaceCode(space != null ? space.getCode() : null)
+                    .entryTime(record.getEntryTime().toString())
+                    .exitTime(record.getExitTime() != null ? record.getExitTime().toString() : null)
+                    .durationInMinutes(record.getDurationInMinutes())
+                    .status(record.getStatus())
+                    .notes(record.getNotes())
+                    .createdAt(record.getCreatedAt().toString())
+                    .build());
+        }
+        result.addAll(records);
+        return result;
+    }
+
     private AccessRecordDTO convertToDTO(AccessRecord accessRecord) {
         return AccessRecordDTO.builder()
                 .id(accessRecord.getId())
@@ -1,6 +1,7 @@
 package dev.victor_rivas.space_management.service;
 
 import dev.victor_rivas.space_management.exception.ResourceNotFoundException;
+import dev.victor_rivas.space_management.exception.ServiceOverloadedException;
 import dev.victor_rivas.space_management.model.dto.AuthResponse;
 import dev.victor_rivas.space_management.model.dto.LoginRequest;
 import dev.victor_rivas.space_management.model.entity.User;
@@ -76,6 +77,11 @@ public class AuthService {
             logger.warn("Login failed for username: {} - Invalid credentials", request.getUsername());
             throw e;
 
+        } catch (ServiceOverloadedException e) {
+            logger.warn("Login rejected for username: {} - password hashing pool saturated",
+                    request.getUsername());
+            throw e;
+
         } catch (Exception e) {
             logger.error("Unexpected error during login for username: {}",
                     request.getUsername(), e);
@@ -2,6 +2,9 @@ package dev.victor_rivas.space_management.service;
 
 import dev.victor_rivas.space_management.enums.AccessStatus;
 import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.observability.AccessOperationEvent;
+import dev.victor_rivas.space_management.observability.AccessPhaseEvent;
 import dev.victor_rivas.space_management.repository.AccessRecordRepository;
 import dev.victor_rivas.space_management.repository.SpaceRepository;
 import dev.victor_rivas.space_management.repository.StudentRepository;
@@ -10,18 +13,91 @@ import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.concurrent.atomic.AtomicInteger;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @Service
 @Slf4j
 public class MetricsService {
 
+    /**
+     * Fases del registro de entrada y salida, cada una con su histograma en access.phase.time.
+     */
+    public enum AccessPhase {
+        ENTRY_STUDENT_LOOKUP("entry", "student_lookup"),
+        ENTRY_SPACE_LOOKUP("entry", "space_lookup"),
+        ENTRY_ACTIVE_CHECK("entry", "active_check"),
+        ENTRY_OCCUPANCY_COUNT("entry", "occupancy_count"),
+        ENTRY_INSERT("entry", "insert"),
+        ENTRY_STATUS_UPDATE("entry", "status_update"),
+        EXIT_RECORD_LOOKUP("exit", "record_lookup"),
+        EXIT_UPDATE("exit", "update"),
+        EXIT_OCCUPANCY_COUNT("exit", "occupancy_count"),
+        EXIT_STATUS_UPDATE("exit", "status_update");
+
+        private final String operation;
+        private final String tag;
+
+        AccessPhase(String operation, String tag) {
+            this.operation = operation;
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Resultado de un registro de entrada o salida, contado en access.outcome.
+     */
+    public enum AccessOutcome {
+        ENTRY_ACCEPTED("entry", "accepted"),
+        ENTRY_STUDENT_NOT_FOUND("entry", "student_not_found"),
+        ENTRY_INACTIVE("entry", "inactive"),
+        ENTRY_SPACE_NOT_FOUND("entry", "space_not_found"),
+        ENTRY_UNAVAILABLE("entry", "unavailable"),
+        ENTRY_DUPLICATE("entry", "duplicate"),
+        ENTRY_FULL("entry", "full"),
+        EXIT_ACCEPTED("exit", "accepted"),
+        EXIT_NOT_FOUND("exit", "not_found"),
+        EXIT_NOT_ACTIVE("exit", "not_active");
+
+        private final String operation;
+        private final String tag;
+
+        AccessOutcome(String operation, String tag) {
+            this.operation = operation;
+            this.tag = tag;
+        }
+    }
+
+    // Cubos SLO: una fase es una consulta o una escritura, el registro completo varias
+    private static final Duration[] PHASE_SLOS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+            Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250)
+    };
+    private static final Duration[] REGISTRATION_SLOS = {
+            Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100),
+            Duration.ofMillis(200), Duration.ofMillis(500), Duration.ofSeconds(1)
+    };
+
+    // Evento JFR del registro en curso en este hilo, para anotar el resultado y el espacio
+    private static final ThreadLocal<AccessOperationEvent> CURRENT_ACCESS_EVENT = new ThreadLocal<>();
+
     private final MeterRegistry meterRegistry;
     private final AccessRecordRepository accessRecordRepository;
     private final SpaceRepository spaceRepository;
     private final StudentRepository studentRepository;
+    private final SpaceOccupancyMetrics spaceOccupancyMetrics;
 
     // Contadores
     private final Counter entryCounter;
@@ -32,15 +108,28 @@ public class MetricsService {
     // Timers
     private final Timer entryRegistrationTimer;
     private final Timer exitRegistrationTimer;
+    private final Map<AccessPhase, Timer> phaseTimers = new EnumMap<>(AccessPhase.class);
+    private final Map<AccessOutcome, Counter> outcomeCounters = new EnumMap<>(AccessOutcome.class);
+
+    // Valores de los gauges, mantenidos en memoria
+    private final AtomicLong studentCount = new AtomicLong();
+    private final Map<SpaceStatus, AtomicLong> spacesByStatus = new EnumMap<>(SpaceStatus.class);
+    private final AtomicLong activeAccessCount = new AtomicLong();
+    private final AtomicLong completedAccessCount = new AtomicLong();
 
     public MetricsService(MeterRegistry meterRegistry,
                           AccessRecordRepository accessRecordRepository,
                           SpaceRepository spaceRepository,
-                          StudentRepository studentRepository) {
+                          StudentRepository studentRepository,
+                          SpaceOccupancyMetrics spaceOccupancyMetrics) {
         this.meterRegistry = meterRegistry;
         this.accessRecordRepository = accessRecordRepository;
         this.spaceRepository = spaceRepository;
         this.studentRepository = studentRepository;
+        this.spaceOccupancyMetrics = spaceOccupancyMetrics;
+        for (SpaceStatus status : SpaceStatus.values()) {
+            spacesByStatus.put(status, new AtomicLong());
+        }
 
         // Inicializar contadores
         this.entryCounter = Counter.builder("space.entry.total")
@@ -62,61 +151,153 @@ public class MetricsService {
         // Inicializar timers
         this.entryRegistrationTimer = Timer.builder("space.entry.registration.time")
                 .description("Time taken to register an entry")
+                .serviceLevelObjectives(REGISTRATION_SLOS)
                 .register(meterRegistry);
 
         this.exitRegistrationTimer = Timer.builder("space.exit.registration.time")
                 .description("Time taken to register an exit")
+                .serviceLevelObjectives(REGISTRATION_SLOS)
                 .register(meterRegistry);
 
+        // Se registran una vez: el camino caliente solo hace un acceso al EnumMap
+        for (AccessPhase phase : AccessPhase.values()) {
+            phaseTimers.put(phase, Timer.builder("access.phase.time")
+                    .description("Time spent in each phase of entry and exit registration")
+                    .tag("operation", phase.operation)
+                    .tag("phase", phase.tag)
+                    .serviceLevelObjectives(PHASE_SLOS)
+                    .register(meterRegistry));
+        }
+        for (AccessOutcome outcome : AccessOutcome.values()) {
+            outcomeCounters.put(outcome, Counter.builder("access.outcome")
+                    .description("Entry and exit registrations by outcome")
+                    .tag("operation", outcome.operation)
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry));
+        }
+
         // Registrar Gauges
         registerGauges();
     }
 
+    /**
+     * Los gauges leen contadores en memoria: un scrape no lanza consultas. Los contadores se
+     * ajustan al confirmar cada entrada, salida o cambio de estado de un espacio, y
+     * {@link #reconcileGauges()} los corrige periódicamente con COUNT por si algún cambio
+     * no pasó por este servicio (otros nodos, SQL manual, archivado).
+     */
     private void registerGauges() {
         // Total de estudiantes activos
-        Gauge.builder("students.active.total", studentRepository, repo ->
-                        repo.count())
+        Gauge.builder("students.active.total", studentCount, AtomicLong::get)
                 .description("Total number of active students")
                 .register(meterRegistry);
 
         // Total de espacios
-        Gauge.builder("spaces.total", spaceRepository, repo ->
-                        repo.count())
+        Gauge.builder("spaces.total", spacesByStatus, counts ->
+                        counts.values().stream().mapToLong(AtomicLong::get).sum())
                 .description("Total number of spaces")
                 .register(meterRegistry);
 
         // Espacios disponibles
-        Gauge.builder("spaces.available.total", spaceRepository, repo ->
-                        repo.findByStatus(SpaceStatus.AVAILABLE).size())
+        Gauge.builder("spaces.available.total", spacesByStatus.get(SpaceStatus.AVAILABLE), AtomicLong::get)
                 .description("Number of available spaces")
                 .register(meterRegistry);
 
         // Espacios ocupados
-        Gauge.builder("spaces.occupied.total", spaceRepository, repo ->
-                        repo.findByStatus(SpaceStatus.OCCUPIED).size())
+        Gauge.builder("spaces.occupied.total", spacesByStatus.get(SpaceStatus.OCCUPIED), AtomicLong::get)
                 .description("Number of occupied spaces")
                 .register(meterRegistry);
 
         // Accesos activos actuales
-        Gauge.builder("access.active.current", accessRecordRepository, repo ->
-                        repo.findByStatus(AccessStatus.ACTIVE).size())
+        Gauge.builder("access.active.current", activeAccessCount, AtomicLong::get)
                 .description("Current number of active accesses")
                 .register(meterRegistry);
 
         // Total de accesos completados
-        Gauge.builder("access.completed.total", accessRecordRepository, repo ->
-                        repo.findByStatus(AccessStatus.COMPLETED).size())
+        Gauge.builder("access.completed.total", completedAccessCount, AtomicLong::get)
                 .description("Total number of completed accesses")
                 .register(meterRegistry);
     }
 
+    /**
+     * Recalcula los gauges con consultas COUNT (nunca cargando entidades), incluida la ocupación
+     * por espacio y edificio. Se ejecuta al arrancar y con baja frecuencia (metrics.gauge-reconcile-ms).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${metrics.gauge-reconcile-ms:300000}",
+            initialDelayString = "${metrics.gauge-reconcile-ms:300000}")
+    public void reconcileGauges() {
+        try {
+            studentCount.set(studentRepository.count());
+            for (SpaceStatus status : SpaceStatus.values()) {
+                spacesByStatus.get(status).set(spaceRepository.countByStatus(status));
+            }
+            activeAccessCount.set(accessRecordRepository.countByStatus(AccessStatus.ACTIVE));
+            completedAccessCount.set(accessRecordRepository.countByStatus(AccessStatus.COMPLETED));
+
+            Map<Long, Long> occupancyBySpace = new HashMap<>();
+            for (Object[] row : accessRecordRepository.countByStatusGroupedBySpace(AccessStatus.ACTIVE)) {
+                occupancyBySpace.put((Long) row[0], (Long) row[1]);
+            }
+            List<SpaceRepository.CapacityView> spaces = spaceRepository.findAllProjectedBy();
+            spaceOccupancyMetrics.reconcile(spaces, occupancyBySpace);
+        } catch (Exception e) {
+            log.warn("Could not reconcile business gauges: {}", e.getMessage());
+        }
+    }
+
     // Métodos para incrementar contadores
-    public void recordEntry() {
+    public void recordEntry(Space space) {
         entryCounter.increment();
+        afterCommit(() -> {
+            activeAccessCount.incrementAndGet();
+            spaceOccupancyMetrics.recordEntry(space);
+        });
     }
 
-    public void recordExit() {
+    public void recordExit(Space space) {
         exitCounter.increment();
+        afterCommit(() -> {
+            activeAccessCount.decrementAndGet();
+            completedAccessCount.incrementAndGet();
+            spaceOccupancyMetrics.recordExit(space);
+        });
+    }
+
+    /**
+     * Cambio de estado de un espacio; {@code from} es null al crearlo y {@code to} al borrarlo.
+     */
+    public void recordSpaceStatusChange(SpaceStatus from, SpaceStatus to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            if (from != null) {
+                spacesByStatus.get(from).decrementAndGet();
+            }
+            if (to != null) {
+                spacesByStatus.get(to).incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Alta o modificación de un espacio: actualiza su aforo y etiquetas en los gauges por espacio.
+     */
+    public void recordSpaceSaved(Space space) {
+        afterCommit(() -> spaceOccupancyMetrics.recordSpaceSaved(space));
+    }
+
+    public void recordSpaceDeleted(Long spaceId) {
+        afterCommit(() -> spaceOccupancyMetrics.recordSpaceDeleted(spaceId));
+    }
+
+    public void recordStudentsCreated(int count) {
+        afterCommit(() -> studentCount.addAndGet(count));
+    }
+
+    public void recordStudentDeleted() {
+        afterCommit(studentCount::decrementAndGet);
     }
 
     public void recordLoginSuccess() {
@@ -127,17 +308,92 @@ public class MetricsService {
         loginFailureCounter.increment();
     }
 
-    // Métodos para obtener timers
-    public Timer getEntryRegistrationTimer() {
-        return entryRegistrationTimer;
+    /**
+     * Mide un registro de entrada completo en space.entry.registration.time y, si hay una
+     * grabación JFR activa, lo emite como {@link AccessOperationEvent}.
+     */
+    public <T> T timeEntryRegistration(Long spaceId, Supplier<T> registration) {
+        return timeRegistration(entryRegistrationTimer, "entry", spaceId, registration);
+    }
+
+    /**
+     * Igual que {@link #timeEntryRegistration}; el espacio se conoce al leer el registro y se
+     * añade con {@link #recordAccessSpace}.
+     */
+    public <T> T timeExitRegistration(Supplier<T> registration) {
+        return timeRegistration(exitRegistrationTimer, "exit", null, registration);
     }
 
-    public Timer getExitRegistrationTimer() {
-        return exitRegistrationTimer;
+    private <T> T timeRegistration(Timer timer, String operation, Long spaceId, Supplier<T> registration) {
+        AccessOperationEvent event = new AccessOperationEvent();
+        // Sin grabación activa no se toca el ThreadLocal y el JIT puede eliminar el evento
+        if (!event.isEnabled()) {
+            return timer.record(registration);
+        }
+        event.operation = operation;
+        if (spaceId != null) {
+            event.spaceId = spaceId;
+        }
+        CURRENT_ACCESS_EVENT.set(event);
+        event.begin();
+        try {
+            return timer.record(registration);
+        } finally {
+            CURRENT_ACCESS_EVENT.remove();
+            event.commit();
+        }
+    }
+
+    public void recordAccessSpace(Long spaceId) {
+        AccessOperationEvent event = CURRENT_ACCESS_EVENT.get();
+        if (event != null && spaceId != null) {
+            event.spaceId = spaceId;
+        }
+    }
+
+    /**
+     * Ejecuta una fase del registro de entrada/salida midiendo su duración (también como
+     * {@link AccessPhaseEvent} si hay una grabación JFR activa).
+     */
+    public <T> T timePhase(AccessPhase phase, Supplier<T> step) {
+        AccessPhaseEvent event = new AccessPhaseEvent();
+        event.begin();
+        try {
+            return phaseTimers.get(phase).record(step);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = phase.operation;
+                event.phase = phase.tag;
+                event.commit();
+            }
+        }
+    }
+
+    public void recordOutcome(AccessOutcome outcome) {
+        outcomeCounters.get(outcome).increment();
+        AccessOperationEvent event = CURRENT_ACCESS_EVENT.get();
+        if (event != null) {
+            event.outcome = outcome.tag;
+        }
     }
 
     // Método para registrar métricas personalizadas por evento
     public void recordCustomMetric(String metricName, String description, double value) {
         meterRegistry.counter(metricName, "description", description).increment(value);
     }
+
+    // Si la transacción se deshace, el contador no cambia
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
@@ -0,0 +1,49 @@
+package dev.victor_rivas.space_management.service;
+
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Desalojo explícito de Space y Student de la caché de segundo nivel. Se ejecuta tras el commit
+ * para que ninguna lectura concurrente vuelva a poblar la caché con la versión anterior.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evictSpace(Long id, boolean codeChanged) {
+        afterCommit(() -> {
+            org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            cache.evictEntityData(Space.class, id);
+            if (codeChanged) {
+                cache.evictNaturalIdData(Space.class);
+            }
+        });
+    }
+
+    public void evictStudent(Long id) {
+        afterCommit(() -> entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                .evictEntityData(Student.class, id));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,40 +1,66 @@
 package dev.victor_rivas.space_management.service;
 
+import dev.victor_rivas.space_management.archive.AccessArchiveStore;
+import dev.victor_rivas.space_management.archive.ArchivedAccessRecord;
 import dev.victor_rivas.space_management.exception.ResourceNotFoundException;
 import dev.victor_rivas.space_management.model.dto.OccupancyReportDTO;
 import dev.victor_rivas.space_management.model.entity.AccessRecord;
 import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.observability.ReportGenerationEvent;
 import dev.victor_rivas.space_management.repository.AccessRecordRepository;
 import dev.victor_rivas.space_management.repository.SpaceRepository;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "report.service")
 public class ReportService {
 
     private final SpaceRepository spaceRepository;
     private final AccessRecordRepository accessRecordRepository;
+    private final AccessArchiveStore accessArchiveStore;
 
     @Transactional(readOnly = true)
     public List<OccupancyReportDTO> getOccupancyReport() {
+        ReportGenerationEvent event = new ReportGenerationEvent();
+        event.begin();
         List<Space> spaces = spaceRepository.findAll();
 
-        return spaces.stream()
+        List<OccupancyReportDTO> report = spaces.stream()
                 .map(this::generateOccupancyReport)
                 .toList();
+        commit(event, "occupancy", 0, report.size());
+        return report;
     }
 
     @Transactional(readOnly = true)
     public OccupancyReportDTO getOccupancyReportBySpace(Long spaceId) {
+        ReportGenerationEvent event = new ReportGenerationEvent();
+        event.begin();
         Space space = spaceRepository.findById(spaceId)
                 .orElseThrow(() -> new ResourceNotFoundException("Space not found"));
 
-        return generateOccupancyReport(space);
+        OccupancyReportDTO report = generateOccupancyReport(space);
+        commit(event, "occupancy_by_space", spaceId, 1);
+        return report;
+    }
+
+    private static void commit(ReportGenerationEvent event, String report, long spaceId, int spaces) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.report = report;
+            event.spaceId = spaceId;
+            event.spaces = spaces;
+            event.commit();
+        }
     }
 
     private OccupancyReportDTO generateOccupancyReport(Space space) {
@@ -57,9 +83,21 @@ public class ReportService {
         List<AccessRecord> monthRecords = accessRecordRepository
                 .findBySpaceAndEntryTimeBetween(space, startOfMonth, endOfToday);
 
-        double averageDuration = monthRecords.stream()
-                .filter(ar -> ar.getDurationInMinutes() != null)
-                .mapToLong(AccessRecord::getDurationInMinutes)
+        // Historial ya archivado que cae dentro de la ventana del informe
+        List<ArchivedAccessRecord> archivedMonthRecords = accessArchiveStore
+                .findBySpaceAndEntryTimeBetween(space.getId(), startOfMonth, endOfToday);
+        long archivedToday = archivedMonthRecords.stream()
+                .filter(ar -> !ar.getEntryTime().isBefore(startOfToday))
+                .count();
+        long archivedWeek = archivedMonthRecords.stream()
+                .filter(ar -> !ar.getEntryTime().isBefore(startOfWeek))
+                .count();
+
+        double averageDuration = Stream.concat(
+                        monthRecords.stream().map(AccessRecord::getDurationInMinutes),
+                        archivedMonthRecords.stream().map(ArchivedAccessRecord::getDurationInMinutes))
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
                 .average()
                 .orElse(0.0);
 
@@ -70,9 +108,9 @@ public class ReportService {
                 .capacity(space.getCapacity())
                 .currentOccupancy(currentOccupancy.intValue())
                 .occupancyRate(Math.round(occupancyRate * 100.0) / 100.0)
-                .totalAccessesToday((long) todayRecords.size())
-                .totalAccessesThisWeek((long) weekRecords.size())
-                .totalAccessesThisMonth((long) monthRecords.size())
+                .totalAccessesToday(todayRecords.size() + archivedToday)
+                .totalAccessesThisWeek(weekRecords.size() + archivedWeek)
+                .totalAccessesThisMonth((long) monthRecords.size() + archivedMonthRecords.size())
                 .averageDurationInMinutes(Math.round(averageDuration * 100.0) / 100.0)
                 .build();
     }
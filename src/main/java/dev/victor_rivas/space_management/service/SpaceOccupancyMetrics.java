@@ -0,0 +1,226 @@
+package dev.victor_rivas.space_management.service;
+
+import dev.victor_rivas.space_management.config.SpaceGaugeProperties;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.repository.SpaceRepository.CapacityView;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ocupación y aforo por espacio (space.occupancy, space.capacity) y por edificio
+ * (building.occupancy, building.capacity). Cada serie lee un AtomicLong que se ajusta al
+ * confirmar entradas, salidas y cambios de espacios, así que un scrape no consulta ni reserva
+ * memoria. Para acotar la cardinalidad, los espacios que superan metrics.space-gauges.max-spaces
+ * se suman en space="other" (y los edificios por encima de max-buildings en building="other").
+ * Cada serie de edificio cuenta sus espacios y se da de baja al quedarse sin ninguno (edificio
+ * renombrado o borrado), liberando su hueco para los que estaban en "other".
+ * <p>
+ * Las mutaciones se serializan con synchronized: son unas pocas sumas por registro de acceso.
+ * {@link MetricsService#reconcileGauges()} reconstruye el estado con dos consultas agregadas.
+ */
+@Component
+public class SpaceOccupancyMetrics {
+
+    static final String OTHER = "other";
+    static final String NO_BUILDING = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final SpaceGaugeProperties properties;
+
+    private final Map<Long, SpaceState> spaces = new HashMap<>();
+    private final Map<Long, Series> spaceSeries = new HashMap<>();
+    private final Map<String, Series> buildingSeries = new HashMap<>();
+    private Series otherSpaces;
+    private Series otherBuildings;
+
+    public SpaceOccupancyMetrics(MeterRegistry meterRegistry, SpaceGaugeProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public synchronized void recordEntry(Space space) {
+        SpaceState state = spaces.get(space.getId());
+        if (state == null) {
+            // Espacio creado en otro nodo: se incorpora con los datos de la entidad
+            state = track(space.getId(), space.getCode(), space.getBuilding(), space.getCapacity());
+        }
+        adjustOccupancy(state, 1);
+    }
+
+    public synchronized void recordExit(Space space) {
+        SpaceState state = spaces.get(space.getId());
+        // Sin estado no se conoce su ocupación; la siguiente reconciliación lo corrige
+        if (state != null && state.occupancy > 0) {
+            adjustOccupancy(state, -1);
+        }
+    }
+
+    public synchronized void recordSpaceSaved(Space space) {
+        track(space.getId(), space.getCode(), space.getBuilding(), space.getCapacity());
+    }
+
+    public synchronized void recordSpaceDeleted(Long spaceId) {
+        SpaceState state = spaces.remove(spaceId);
+        if (state != null) {
+            detach(spaceId, state, true);
+        }
+    }
+
+    /**
+     * Sustituye el estado por el leído de base de datos. Los espacios se recorren por id para
+     * que las series propias se asignen siempre a los mismos cuando hay más que el límite.
+     */
+    public synchronized void reconcile(List<CapacityView> views, Map<Long, Long> occupancyBySpace) {
+        Set<Long> present = new HashSet<>();
+        for (CapacityView view : views) {
+            present.add(view.getId());
+        }
+        for (Long spaceId : new ArrayList<>(spaces.keySet())) {
+            if (!present.contains(spaceId)) {
+                recordSpaceDeleted(spaceId);
+            }
+        }
+
+        List<CapacityView> ordered = new ArrayList<>(views);
+        ordered.sort(Comparator.comparing(CapacityView::getId));
+        for (CapacityView view : ordered) {
+            SpaceState state = track(view.getId(), view.getCode(), view.getBuilding(), view.getCapacity());
+            adjustOccupancy(state, occupancyBySpace.getOrDefault(view.getId(), 0L) - state.occupancy);
+        }
+    }
+
+    private SpaceState track(Long spaceId, String code, String building, Integer capacity) {
+        String buildingTag = building != null ? building : NO_BUILDING;
+        long newCapacity = capacity != null ? capacity : 0;
+        SpaceState state = spaces.get(spaceId);
+        if (state == null) {
+            state = new SpaceState();
+            spaces.put(spaceId, state);
+        } else {
+            boolean relabel = !state.code.equals(code) || !state.building.equals(buildingTag);
+            boolean promote = (state.space == otherSpaces && spaceSeries.size() < properties.getMaxSpaces())
+                    || (state.buildingSeries == otherBuildings && (buildingSeries.containsKey(buildingTag)
+                    || buildingSeries.size() < properties.getMaxBuildings()));
+            if (!relabel && !promote && state.capacity == newCapacity) {
+                return state;
+            }
+            detach(spaceId, state, relabel);
+        }
+        state.code = code;
+        state.building = buildingTag;
+        state.capacity = newCapacity;
+        attach(spaceId, state);
+        return state;
+    }
+
+    private void attach(Long spaceId, SpaceState state) {
+        state.space = spaceSeries.get(spaceId);
+        if (state.space == null) {
+            if (spaceSeries.size() < properties.getMaxSpaces()) {
+                state.space = register("space", Tags.of("space", state.code, "building", state.building));
+                spaceSeries.put(spaceId, state.space);
+            } else {
+                if (otherSpaces == null) {
+                    otherSpaces = register("space", Tags.of("space", OTHER, "building", OTHER));
+                }
+                state.space = otherSpaces;
+            }
+        }
+
+        state.buildingSeries = buildingSeries.get(state.building);
+        if (state.buildingSeries == null) {
+            if (buildingSeries.size() < properties.getMaxBuildings()) {
+                state.buildingSeries = register("building", Tags.of("building", state.building));
+                buildingSeries.put(state.building, state.buildingSeries);
+            } else {
+                if (otherBuildings == null) {
+                    otherBuildings = register("building", Tags.of("building", OTHER));
+                }
+                state.buildingSeries = otherBuildings;
+            }
+        }
+
+        state.buildingSeries.spaces++;
+        state.space.add(state.occupancy, state.capacity);
+        state.buildingSeries.add(state.occupancy, state.capacity);
+    }
+
+    // Resta la aportación del espacio; con release libera su serie propia (borrado o etiquetas nuevas)
+    // y la del edificio si era su último espacio
+    private void detach(Long spaceId, SpaceState state, boolean release) {
+        state.space.add(-state.occupancy, -state.capacity);
+        state.buildingSeries.add(-state.occupancy, -state.capacity);
+        state.buildingSeries.spaces--;
+        if (release && state.space != otherSpaces) {
+            spaceSeries.remove(spaceId);
+            state.space.meters.forEach(meterRegistry::remove);
+        }
+        // Sin release el espacio vuelve enseguida a la misma serie, salvo si sale de "other"
+        if (state.buildingSeries.spaces == 0 && (release || state.buildingSeries == otherBuildings)) {
+            if (state.buildingSeries == otherBuildings) {
+                otherBuildings = null;
+            } else {
+                buildingSeries.remove(state.building);
+            }
+            state.buildingSeries.meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    private void adjustOccupancy(SpaceState state, long delta) {
+        state.occupancy += delta;
+        state.space.add(delta, 0);
+        state.buildingSeries.add(delta, 0);
+    }
+
+    private Series register(String prefix, Tags tags) {
+        Series series = new Series();
+        series.meters.add(Gauge.builder(prefix + ".occupancy", series.occupancy, AtomicLong::get)
+                .description("Current number of students inside")
+                .tags(tags)
+                .register(meterRegistry));
+        series.meters.add(Gauge.builder(prefix + ".capacity", series.capacity, AtomicLong::get)
+                .description("Maximum number of students allowed")
+                .tags(tags)
+                .register(meterRegistry));
+        return series;
+    }
+
+    // Valores leídos por los gauges; solo se modifican bajo el monitor de la clase
+    private static final class Series {
+        private final AtomicLong occupancy = new AtomicLong();
+        private final AtomicLong capacity = new AtomicLong();
+        private final List<Meter> meters = new ArrayList<>(2);
+        // Espacios que suman en la serie (solo se usa en las de edificio)
+        private int spaces;
+
+        private void add(long occupancyDelta, long capacityDelta) {
+            if (occupancyDelta != 0) {
+                occupancy.addAndGet(occupancyDelta);
+            }
+            if (capacityDelta != 0) {
+                capacity.addAndGet(capacityDelta);
+            }
+        }
+    }
+
+    private static final class SpaceState {
+        private String code;
+        private String building;
+        private long capacity;
+        private long occupancy;
+        private Series space;
+        private Series buildingSeries;
+    }
+}
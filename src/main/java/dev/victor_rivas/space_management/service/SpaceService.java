@@ -1,5 +1,6 @@
 package dev.victor_rivas.space_management.service;
 
+import dev.victor_rivas.space_management.archive.AccessArchiveStore;
 import dev.victor_rivas.space_management.constant.ExceptionMessagesConstants;
 import dev.victor_rivas.space_management.enums.SpaceStatus;
 import dev.victor_rivas.space_management.exception.BusinessException;
@@ -19,6 +20,9 @@ public class SpaceService {
 
     private final SpaceRepository spaceRepository;
     private final AccessRecordRepository accessRecordRepository;
+    private final AccessArchiveStore accessArchiveStore;
+    private final ReferenceDataCacheEvictor referenceDataCacheEvictor;
+    private final MetricsService metricsService;
 
     @Transactional
     public SpaceDTO createSpace(SpaceDTO spaceDTO) {
@@ -38,6 +42,8 @@ public class SpaceService {
                 .build();
 
         space = spaceRepository.save(space);
+        metricsService.recordSpaceStatusChange(null, space.getStatus());
+        metricsService.recordSpaceSaved(space);
         return convertToDTO(space);
     }
 
@@ -64,8 +70,8 @@ public class SpaceService {
                         ExceptionMessagesConstants.SPACE_NOT_FOUND + id
                 ));
 
-        if (!space.getCode().equals(spaceDTO.getCode()) &&
-                spaceRepository.existsByCode(spaceDTO.getCode())) {
+        boolean codeChanged = !space.getCode().equals(spaceDTO.getCode());
+        if (codeChanged && spaceRepository.existsByCode(spaceDTO.getCode())) {
             throw new BusinessException("Space code already exists");
         }
 
@@ -78,10 +84,13 @@ public class SpaceService {
         space.setDescription(spaceDTO.getDescription());
 
         if (spaceDTO.getStatus() != null) {
+            metricsService.recordSpaceStatusChange(space.getStatus(), spaceDTO.getStatus());
             space.setStatus(spaceDTO.getStatus());
         }
 
         space = spaceRepository.save(space);
+        metricsService.recordSpaceSaved(space);
+        referenceDataCacheEvictor.evictSpace(id, codeChanged);
         return convertToDTO(space);
     }
 
@@ -92,11 +101,15 @@ public class SpaceService {
                         ExceptionMessagesConstants.SPACE_NOT_FOUND + id
                 ));
 
-        if (accessRecordRepository.existsBySpaceId(id)){
+        // Los accesos archivados también lo referencian aunque ya no estén en la base de datos
+        if (accessRecordRepository.existsBySpaceId(id) || accessArchiveStore.existsBySpace(id)){
+            metricsService.recordSpaceStatusChange(space.getStatus(), SpaceStatus.UNAVAILABLE);
             space.setStatus(SpaceStatus.UNAVAILABLE);
             spaceRepository.save(space);
         } else {
             spaceRepository.deleteById(id);
+            metricsService.recordSpaceStatusChange(space.getStatus(), null);
+            metricsService.recordSpaceDeleted(id);
         }
     }
 
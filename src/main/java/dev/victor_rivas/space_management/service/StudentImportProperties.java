@@ -0,0 +1,18 @@
+package dev.victor_rivas.space_management.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "student-import")
+public class StudentImportProperties {
+
+    // Filas que se validan, hashean e insertan juntas en una transacción
+    private int chunkSize = 500;
+    // Hilos dedicados a BCrypt durante la importación (independientes del pool de login)
+    private int hashParallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    // Límite de filas por petición
+    private int maxRows = 20_000;
+}
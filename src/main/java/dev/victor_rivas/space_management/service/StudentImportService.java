@@ -0,0 +1,417 @@
+package dev.victor_rivas.space_management.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.constant.ExceptionMessagesConstants;
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.dto.CreateStudentRequest;
+import dev.victor_rivas.space_management.model.dto.StudentImportResult;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Alta masiva de estudiantes desde CSV o NDJSON.
+ *
+ * <p>La entrada se procesa por bloques de {@code chunkSize} filas: la unicidad se comprueba con
+ * una consulta por conjunto (no una por fila), cada contraseña se hashea una sola vez en un pool
+ * propio y estudiantes y usuarios se insertan con saveAll en una transacción por bloque, de modo
+ * que Hibernate los agrupa en lotes JDBC. El resultado de cada fila se escribe como una línea
+ * NDJSON en cuanto su bloque termina.</p>
+ */
+@Slf4j
+@Service
+public class StudentImportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final List<String> CSV_REQUIRED_COLUMNS =
+            List.of("registrationnumber", "name", "email", "password");
+
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+    private final PasswordEncoder hashingPasswordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final StudentImportProperties properties;
+    private final StudentUniquenessIndex uniquenessIndex;
+    private final MetricsService metricsService;
+    private final ExecutorService hashPool;
+
+    public StudentImportService(StudentRepository studentRepository,
+                                UserRepository userRepository,
+                                @Qualifier("hashingPasswordEncoder") PasswordEncoder hashingPasswordEncoder,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                TransactionTemplate transactionTemplate,
+                                StudentImportProperties properties,
+                                StudentUniquenessIndex uniquenessIndex,
+                                MetricsService metricsService) {
+        this.studentRepository = studentRepository;
+        this.userRepository = userRepository;
+        this.hashingPasswordEncoder = hashingPasswordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.uniquenessIndex = uniquenessIndex;
+        this.metricsService = metricsService;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(properties.getHashParallelism(), runnable -> {
+            Thread thread = new Thread(runnable, "student-import-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * Lee las filas de {@code input} y escribe en {@code output} una línea NDJSON por fila.
+     */
+    public void importStudents(Format format, InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportState state = new ImportState(output);
+        List<ImportRow> chunk = new ArrayList<>(properties.getChunkSize());
+        Map<String, Integer> csvColumns = null;
+
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                if (!csvColumns.keySet().containsAll(CSV_REQUIRED_COLUMNS)) {
+                    state.write(rejected(lineNumber, null,
+                            "CSV header must include registrationNumber, name, email and password"));
+                    break;
+                }
+                continue;
+            }
+
+            if (state.rows >= properties.getMaxRows()) {
+                state.write(rejected(lineNumber, null,
+                        "Import limited to " + properties.getMaxRows() + " rows per request"));
+                break;
+            }
+            state.rows++;
+
+            chunk.add(format == Format.CSV
+                    ? parseCsvRow(lineNumber, line, csvColumns)
+                    : parseJsonRow(lineNumber, line));
+            if (chunk.size() >= properties.getChunkSize()) {
+                processChunk(chunk, state);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, state);
+        }
+        output.flush();
+
+        log.info("Student import finished: {} rows, {} created, {} rejected",
+                state.rows, state.created, state.rows - state.created);
+    }
+
+    private void processChunk(List<ImportRow> chunk, ImportState state) throws IOException {
+        validate(chunk, state);
+        checkUniqueness(chunk);
+        hashPasswords(chunk);
+        insert(chunk);
+
+        for (ImportRow row : chunk) {
+            if (row.error == null) {
+                state.created++;
+                state.write(StudentImportResult.builder()
+                        .line(row.line)
+                        .registrationNumber(row.request.getRegistrationNumber())
+                        .status(StudentImportResult.Status.CREATED)
+                        .studentId(row.studentId)
+                        .build());
+            } else {
+                state.write(rejected(row.line,
+                        row.request != null ? row.request.getRegistrationNumber() : null, row.error));
+            }
+        }
+        state.output.flush();
+    }
+
+    /**
+     * Validación de campos y duplicados dentro del propio fichero (también entre bloques).
+     */
+    private void validate(List<ImportRow> chunk, ImportState state) {
+        for (ImportRow row : chunk) {
+            if (row.error != null) {
+                continue;
+            }
+            Set<ConstraintViolation<CreateStudentRequest>> violations = validator.validate(row.request);
+            if (!violations.isEmpty()) {
+                row.error = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+            } else if (!state.seenRegistrationNumbers.add(row.request.getRegistrationNumber())) {
+                row.error = "Duplicate registration number in import";
+            } else if (!state.seenEmails.add(row.request.getEmail())) {
+                row.error = "Duplicate email in import";
+            }
+        }
+    }
+
+    /**
+     * Comprueba contra la base de datos con cuatro consultas por bloque, sea cual sea su tamaño.
+     * Solo entran en ellas los valores que el filtro de Bloom no descarta; si no queda ninguno,
+     * el bloque no consulta nada.
+     */
+    private void checkUniqueness(List<ImportRow> chunk) {
+        List<ImportRow> candidates = pending(chunk);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<String> registrationNumbers = candidates.stream()
+                .map(row -> row.request.getRegistrationNumber())
+                .filter(uniquenessIndex::mightContainRegistrationNumber)
+                .collect(Collectors.toSet());
+        Set<String> emails = candidates.stream()
+                .map(row -> row.request.getEmail())
+                .filter(uniquenessIndex::mightContainEmail)
+                .collect(Collectors.toSet());
+        if (registrationNumbers.isEmpty() && emails.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenRegistrationNumbers = new HashSet<>();
+        if (!registrationNumbers.isEmpty()) {
+            takenRegistrationNumbers.addAll(studentRepository.findExistingRegistrationNumbers(registrationNumbers));
+            takenRegistrationNumbers.addAll(userRepository.findExistingUsernames(registrationNumbers));
+        }
+        Set<String> takenEmails = new HashSet<>();
+        if (!emails.isEmpty()) {
+            takenEmails.addAll(studentRepository.findExistingEmails(emails));
+            takenEmails.addAll(userRepository.findExistingEmails(emails));
+        }
+
+        for (ImportRow row : candidates) {
+            if (takenRegistrationNumbers.contains(row.request.getRegistrationNumber())) {
+                row.error = ExceptionMessagesConstants.REGISTRATION_NUMBER_ALREADY_EXISTS;
+            } else if (takenEmails.contains(row.request.getEmail())) {
+                row.error = ExceptionMessagesConstants.EMAIL_ALREADY_EXISTS;
+            }
+        }
+    }
+
+    /**
+     * Un único hash por fila, compartido por Student y User, calculado en paralelo.
+     */
+    private void hashPasswords(List<ImportRow> chunk) {
+        List<ImportRow> candidates = pending(chunk);
+        CompletableFuture.allOf(candidates.stream()
+                        .map(row -> CompletableFuture.runAsync(() ->
+                                row.encodedPassword = hashingPasswordEncoder.encode(row.request.getPassword()), hashPool))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private void insert(List<ImportRow> chunk) {
+        List<ImportRow> candidates = pending(chunk);
+        if (candidates.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(candidates));
+        } catch (DataIntegrityViolationException e) {
+            // Otro alta concurrente ganó alguna fila: se reintenta fila a fila para aislarla
+            log.warn("Batch insert conflicted, retrying {} rows individually", candidates.size());
+            for (ImportRow row : candidates) {
+                row.studentId = null;
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+                } catch (DataIntegrityViolationException rowConflict) {
+                    row.error = StudentService.duplicateMessage(rowConflict).orElseThrow(() -> rowConflict);
+                }
+            }
+        }
+    }
+
+    private void persist(List<ImportRow> rows) {
+        List<Student> students = rows.stream()
+                .map(row -> Student.builder()
+                        .registrationNumber(row.request.getRegistrationNumber())
+                        .name(row.request.getName())
+                        .email(row.request.getEmail())
+                        .password(row.encodedPassword)
+                        .phoneNumber(row.request.getPhoneNumber())
+                        .status(StudentStatus.ACTIVE)
+                        .build())
+                .toList();
+        students = studentRepository.saveAll(students);
+
+        List<User> users = new ArrayList<>(students.size());
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            ImportRow row = rows.get(i);
+            users.add(User.builder()
+                    .username(student.getRegistrationNumber())
+                    .email(student.getEmail())
+                    .password(row.encodedPassword)
+                    .role(Role.STUDENT)
+                    .student(student)
+                    .enabled(true)
+                    .build());
+        }
+        userRepository.saveAll(users);
+        userRepository.flush();
+
+        for (int i = 0; i < students.size(); i++) {
+            Student student = students.get(i);
+            rows.get(i).studentId = student.getId();
+            uniquenessIndex.add(student.getRegistrationNumber(), student.getEmail());
+        }
+        metricsService.recordStudentsCreated(students.size());
+    }
+
+    private ImportRow parseJsonRow(long lineNumber, String line) {
+        try {
+            return new ImportRow(lineNumber, objectMapper.readValue(line, CreateStudentRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(lineNumber, null, "Malformed JSON");
+        }
+    }
+
+    private ImportRow parseCsvRow(long lineNumber, String line, Map<String, Integer> columns) {
+        List<String> values = splitCsvLine(line);
+        CreateStudentRequest request = new CreateStudentRequest(
+                csvValue(values, columns, "registrationnumber"),
+                csvValue(values, columns, "name"),
+                csvValue(values, columns, "email"),
+                csvValue(values, columns, "password"),
+                csvValue(values, columns, "phonenumber"));
+        return new ImportRow(lineNumber, request, null);
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsvLine(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            // registrationNumber, registration_number y RegistrationNumber se tratan igual
+            columns.put(names.get(i).replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static String csvValue(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Separa una línea CSV respetando campos entre comillas y comillas dobles escapadas ("").
+     */
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static List<ImportRow> pending(List<ImportRow> chunk) {
+        return chunk.stream().filter(row -> row.error == null).toList();
+    }
+
+    private static StudentImportResult rejected(long line, String registrationNumber, String message) {
+        return StudentImportResult.builder()
+                .line(line)
+                .registrationNumber(registrationNumber)
+                .status(StudentImportResult.Status.REJECTED)
+                .message(message)
+                .build();
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final CreateStudentRequest request;
+        private String error;
+        private volatile String encodedPassword;
+        private Long studentId;
+
+        private ImportRow(long line, CreateStudentRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+    }
+
+    private final class ImportState {
+        private final OutputStream output;
+        private final Set<String> seenRegistrationNumbers = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private long rows;
+        private long created;
+
+        private ImportState(OutputStream output) {
+            this.output = output;
+        }
+
+        private void write(StudentImportResult result) throws IOException {
+            output.write(objectMapper.writeValueAsBytes(result));
+            output.write('\n');
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package dev.victor_rivas.space_management.service;
 
+import dev.victor_rivas.space_management.archive.AccessArchiveStore;
 import dev.victor_rivas.space_management.constant.ExceptionMessagesConstants;
 import dev.victor_rivas.space_management.enums.Role;
 import dev.victor_rivas.space_management.enums.StudentStatus;
@@ -13,53 +14,78 @@ import dev.victor_rivas.space_management.repository.AccessRecordRepository;
 import dev.victor_rivas.space_management.repository.StudentRepository;
 import dev.victor_rivas.space_management.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.sql.SQLException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class StudentService {
 
+    // Mismo SQLState en PostgreSQL y H2
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
     private final StudentRepository studentRepository;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AccessRecordRepository accessRecordRepository;
+    private final AccessArchiveStore accessArchiveStore;
+    private final ReferenceDataCacheEvictor referenceDataCacheEvictor;
+    private final StudentUniquenessIndex uniquenessIndex;
+    private final MetricsService metricsService;
 
     @Transactional
     public StudentDTO createStudent(CreateStudentRequest request) {
-        if (studentRepository.existsByRegistrationNumber(request.getRegistrationNumber())) {
-            throw new BusinessException("Registration number already exists");
+        // El filtro de Bloom descarta sin consulta los valores que seguro son nuevos
+        if (uniquenessIndex.mightContainRegistrationNumber(request.getRegistrationNumber())
+                && studentRepository.existsByRegistrationNumber(request.getRegistrationNumber())) {
+            throw new BusinessException(ExceptionMessagesConstants.REGISTRATION_NUMBER_ALREADY_EXISTS);
         }
 
-        if (studentRepository.existsByEmail(request.getEmail())) {
-            throw new BusinessException("Email already exists");
+        if (uniquenessIndex.mightContainEmail(request.getEmail())
+                && studentRepository.existsByEmail(request.getEmail())) {
+            throw new BusinessException(ExceptionMessagesConstants.EMAIL_ALREADY_EXISTS);
         }
 
+        // Un único hash BCrypt para Student y User
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+
         Student student = Student.builder()
                 .registrationNumber(request.getRegistrationNumber())
                 .name(request.getName())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .phoneNumber(request.getPhoneNumber())
                 .status(StudentStatus.ACTIVE)
                 .build();
 
-        student = studentRepository.save(student);
-
-        // Create user account for authentication
-        User user = User.builder()
-                .username(request.getRegistrationNumber())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .role(Role.STUDENT)
-                .student(student)
-                .enabled(true)
-                .build();
-
-        userRepository.save(user);
+        try {
+            student = studentRepository.save(student);
+
+            // Create user account for authentication
+            User user = User.builder()
+                    .username(request.getRegistrationNumber())
+                    .email(request.getEmail())
+                    .password(encodedPassword)
+                    .role(Role.STUDENT)
+                    .student(student)
+                    .enabled(true)
+                    .build();
+
+            userRepository.save(user);
+            // Los INSERT se lanzan aquí para traducir una violación UNIQUE al mensaje de negocio
+            userRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException(duplicateMessage(e).orElseThrow(() -> e));
+        }
 
+        uniquenessIndex.add(request.getRegistrationNumber(), request.getEmail());
+        metricsService.recordStudentsCreated(1);
         return convertToDTO(student);
     }
 
@@ -87,8 +113,9 @@ public class StudentService {
                 );
 
         if (!student.getEmail().equals(studentDTO.getEmail()) &&
+                uniquenessIndex.mightContainEmail(studentDTO.getEmail()) &&
                 studentRepository.existsByEmail(studentDTO.getEmail())) {
-            throw new BusinessException("Email already exists");
+            throw new BusinessException(ExceptionMessagesConstants.EMAIL_ALREADY_EXISTS);
         }
 
         student.setName(studentDTO.getName());
@@ -99,7 +126,13 @@ public class StudentService {
             student.setStatus(studentDTO.getStatus());
         }
 
-        student = studentRepository.save(student);
+        try {
+            student = studentRepository.saveAndFlush(student);
+        } catch (DataIntegrityViolationException e) {
+            throw new BusinessException(duplicateMessage(e).orElseThrow(() -> e));
+        }
+        uniquenessIndex.addEmail(student.getEmail());
+        referenceDataCacheEvictor.evictStudent(id);
         return convertToDTO(student);
     }
 
@@ -107,19 +140,47 @@ public class StudentService {
     public void deleteStudent(Long id) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
-        if (accessRecordRepository.existsByStudentId(id)){
+        // Los accesos archivados también lo referencian aunque ya no estén en la base de datos
+        if (accessRecordRepository.existsByStudentId(id) || accessArchiveStore.existsByStudent(id)){
             student.setStatus(StudentStatus.INACTIVE);
             studentRepository.save(student);
         } else {
             userRepository.deleteByStudentId(id);
             if (!userRepository.existsByStudentId(id)){
                 studentRepository.deleteById(id);
+                metricsService.recordStudentDeleted();
             } else {
                 throw new ResourceNotFoundException("User not found with student id: " + id);
             }
         }
     }
 
+    /**
+     * Mensaje de negocio si la violación es de la restricción UNIQUE de la matrícula o del email,
+     * a partir del mensaje del driver (PostgreSQL: "Key (email)=...", H2: "... ON
+     * PUBLIC.STUDENTS(EMAIL ...)"). Se ignora el SQL que H2 añade al final, que lista todas las
+     * columnas. Cualquier otra violación (NOT NULL, longitud, clave foránea, username de users)
+     * devuelve vacío para que el llamante la relance.
+     */
+    static Optional<String> duplicateMessage(DataIntegrityViolationException e) {
+        if (!(e.getMostSpecificCause() instanceof SQLException cause)
+                || !UNIQUE_VIOLATION_SQL_STATE.equals(cause.getSQLState())) {
+            return Optional.empty();
+        }
+        String detail = String.valueOf(cause.getMessage()).toLowerCase(Locale.ROOT);
+        int statement = detail.indexOf("sql statement");
+        if (statement >= 0) {
+            detail = detail.substring(0, statement);
+        }
+        if (detail.contains("(email")) {
+            return Optional.of(ExceptionMessagesConstants.EMAIL_ALREADY_EXISTS);
+        }
+        if (detail.contains("(registration_number")) {
+            return Optional.of(ExceptionMessagesConstants.REGISTRATION_NUMBER_ALREADY_EXISTS);
+        }
+        return Optional.empty();
+    }
+
     private StudentDTO convertToDTO(Student student) {
         return StudentDTO.builder()
                 .id(student.getId())
@@ -0,0 +1,127 @@
+package dev.victor_rivas.space_management.service;
+
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Filtros de Bloom con las matrículas y emails ya usados (en students y en users), para que las
+ * altas con valores nuevos, el caso habitual, no consulten la base de datos. Un "quizá existe"
+ * se confirma con la consulta de siempre.
+ *
+ * <p>Es solo un atajo: los valores insertados por otros nodos no aparecen hasta el siguiente
+ * refresco, así que la garantía sigue siendo la restricción UNIQUE de la base de datos. Mientras
+ * no se ha cargado, todas las comprobaciones van a la base de datos.</p>
+ */
+@Slf4j
+@Component
+public class StudentUniquenessIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int MIN_CAPACITY = 100_000;
+
+    private final StudentRepository studentRepository;
+    private final UserRepository userRepository;
+    private final Counter definitelyNew;
+    private final Counter databaseChecks;
+
+    private volatile Filters filters = new Filters(MIN_CAPACITY);
+    // Filtros en reconstrucción; las altas se anotan también aquí para no perderlas en el cambio
+    private volatile Filters rebuilding;
+    private volatile boolean loaded;
+
+    public StudentUniquenessIndex(StudentRepository studentRepository,
+                                  UserRepository userRepository,
+                                  MeterRegistry meterRegistry) {
+        this.studentRepository = studentRepository;
+        this.userRepository = userRepository;
+        this.definitelyNew = Counter.builder("students.uniqueness.precheck")
+                .description("Uniqueness checks resolved by the in-memory Bloom filter")
+                .tag("result", "new")
+                .register(meterRegistry);
+        this.databaseChecks = Counter.builder("students.uniqueness.precheck")
+                .description("Uniqueness checks resolved by the in-memory Bloom filter")
+                .tag("result", "database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * false solo si la matrícula seguro que no existe; true obliga a consultar la base de datos.
+     */
+    public boolean mightContainRegistrationNumber(String registrationNumber) {
+        return record(!loaded || filters.registrationNumbers.mightContain(registrationNumber));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return record(!loaded || filters.emails.mightContain(email));
+    }
+
+    public void add(String registrationNumber, String email) {
+        filters.put(registrationNumber, email);
+        Filters next = rebuilding;
+        if (next != null) {
+            next.put(registrationNumber, email);
+        }
+    }
+
+    public void addEmail(String email) {
+        filters.emails.put(email);
+        Filters next = rebuilding;
+        if (next != null) {
+            next.emails.put(email);
+        }
+    }
+
+    /**
+     * Reconstruye los filtros desde la base de datos: al arrancar y después periódicamente, para
+     * recoger altas de otros nodos y dimensionarlos según el volumen actual.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${student-uniqueness.refresh-ms:3600000}",
+            initialDelayString = "${student-uniqueness.refresh-ms:3600000}")
+    public synchronized void refresh() {
+        long existing = userRepository.count();
+        Filters rebuilt = new Filters((int) Math.min(Integer.MAX_VALUE, Math.max(MIN_CAPACITY, existing * 2)));
+        rebuilding = rebuilt;
+        try {
+            studentRepository.findAllRegistrationNumbers().forEach(rebuilt.registrationNumbers::put);
+            userRepository.findAllUsernames().forEach(rebuilt.registrationNumbers::put);
+            studentRepository.findAllEmails().forEach(rebuilt.emails::put);
+            userRepository.findAllEmails().forEach(rebuilt.emails::put);
+            filters = rebuilt;
+            loaded = true;
+        } finally {
+            rebuilding = null;
+        }
+
+        log.debug("Student uniqueness index rebuilt from {} users", existing);
+    }
+
+    private boolean record(boolean mightContain) {
+        (mightContain ? databaseChecks : definitelyNew).increment();
+        return mightContain;
+    }
+
+    private static final class Filters {
+
+        private final BloomFilter registrationNumbers;
+        private final BloomFilter emails;
+
+        private Filters(int expectedInsertions) {
+            this.registrationNumbers = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+            this.emails = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+        }
+
+        private void put(String registrationNumber, String email) {
+            registrationNumbers.put(registrationNumber);
+            emails.put(email);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.victor_rivas.space_management.service;
+
+import dev.victor_rivas.space_management.exception.ResourceNotFoundException;
+import dev.victor_rivas.space_management.model.entity.RevokedToken;
+import dev.victor_rivas.space_management.repository.RevokedTokenRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.AuthenticatedUser;
+import dev.victor_rivas.space_management.security.TokenRevocationList;
+import dev.victor_rivas.space_management.security.TokenVersionRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Revocación de JWT: un token concreto (logout) se guarda en revoked_tokens; todos los de un
+ * usuario (revocación por administrador, baja) se invalidan incrementando users.token_version.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private static final String USER_NOT_FOUND = "User not found with id: ";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final UserRepository userRepository;
+    private final TokenRevocationList tokenRevocationList;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    @Transactional
+    public void logout(AuthenticatedUser principal) {
+        if (!revokedTokenRepository.existsByTokenId(principal.getTokenId())) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .tokenId(principal.getTokenId())
+                    .userId(principal.getUserId())
+                    .expiresAt(LocalDateTime.ofInstant(principal.getExpiresAt(), ZoneId.systemDefault()))
+                    .build());
+        }
+        tokenRevocationList.add(principal.getTokenId(), principal.getExpiresAt());
+        log.info("Token revoked on logout for user id: {}", principal.getUserId());
+    }
+
+    @Transactional
+    public void revokeAllTokens(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new ResourceNotFoundException(USER_NOT_FOUND + userId);
+        }
+        afterCommit(() -> tokenVersionRegistry.invalidate(userId));
+        log.info("All tokens revoked for user id: {}", userId);
+    }
+
+    @Transactional
+    public void setEnabled(Long userId, boolean enabled) {
+        if (userRepository.updateEnabledAndRevokeTokens(userId, enabled) == 0) {
+            throw new ResourceNotFoundException(USER_NOT_FOUND + userId);
+        }
+        afterCommit(() -> tokenVersionRegistry.invalidate(userId));
+        log.info("User id: {} {}", userId, enabled ? "enabled" : "disabled");
+    }
+
+    /**
+     * Un token expirado ya no pasa la validación del JWT: su fila de revocación sobra.
+     */
+    @Scheduled(cron = "${jwt.revocation-purge-cron:0 15 * * * *}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged {} expired revoked tokens", deleted);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
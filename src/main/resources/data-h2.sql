@@ -0,0 +1,13 @@
+-- Los INSERT manuales (data.sql) toman el id de la misma secuencia que usa Hibernate
+ALTER TABLE users ALTER COLUMN id SET DEFAULT NEXT VALUE FOR users_seq;
+ALTER TABLE students ALTER COLUMN id SET DEFAULT NEXT VALUE FOR students_seq;
+ALTER TABLE spaces ALTER COLUMN id SET DEFAULT NEXT VALUE FOR spaces_seq;
+ALTER TABLE access_records ALTER COLUMN id SET DEFAULT NEXT VALUE FOR access_records_seq;
+
+-- H2 no soporta índices parciales: se emula con una columna calculada que solo
+-- toma valor para accesos ACTIVE (los NULL no colisionan en un índice único)
+ALTER TABLE access_records ADD COLUMN IF NOT EXISTS active_student_id BIGINT
+    GENERATED ALWAYS AS (CASE WHEN status = 'ACTIVE' THEN student_id END);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_access_records_active_student
+    ON access_records (active_student_id);
@@ -0,0 +1,52 @@
+-- Identificadores por secuencia (optimizador pooled, allocationSize = 50) para que Hibernate
+-- pueda agrupar los INSERT en lotes JDBC. Aquí solo se crean las secuencias y se adelantan más
+-- allá del MAX(id) existente, sin bloquear las tablas; el paso de IDENTITY a secuencia (ALTER
+-- TABLE, bloqueo ACCESS EXCLUSIVE) es el script db/identity-to-sequence.sql, de una sola vez.
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('users_seq', (SELECT MAX(id) FROM users))
+WHERE (SELECT last_value FROM users_seq) < (SELECT COALESCE(MAX(id), 0) FROM users);
+
+CREATE SEQUENCE IF NOT EXISTS students_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('students_seq', (SELECT MAX(id) FROM students))
+WHERE (SELECT last_value FROM students_seq) < (SELECT COALESCE(MAX(id), 0) FROM students);
+
+CREATE SEQUENCE IF NOT EXISTS spaces_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('spaces_seq', (SELECT MAX(id) FROM spaces))
+WHERE (SELECT last_value FROM spaces_seq) < (SELECT COALESCE(MAX(id), 0) FROM spaces);
+
+CREATE SEQUENCE IF NOT EXISTS access_records_seq START WITH 1 INCREMENT BY 50;
+SELECT setval('access_records_seq', (SELECT MAX(id) FROM access_records))
+WHERE (SELECT last_value FROM access_records_seq) < (SELECT COALESCE(MAX(id), 0) FROM access_records);
+
+-- Un estudiante solo puede tener un acceso ACTIVE a la vez (escaneos duplicados concurrentes).
+-- Si access_records ya está particionada, la unicidad la mantiene access_records_active
+-- (ver AccessRecordPartitionService), porque un índice único debe incluir entry_time.
+DO '
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass(''access_records'')) = ''r'' THEN
+        CREATE UNIQUE INDEX IF NOT EXISTS uk_access_records_active_student
+            ON access_records (student_id) WHERE status = ''ACTIVE'';
+    END IF;
+END';
+
+-- Versión de token por usuario: los JWT llevan la versión vigente al emitirse y dejan de ser
+-- válidos cuando se incrementa (ver TokenVersionRegistry). ALTER TABLE bloquea la tabla aunque la
+-- columna ya exista, así que solo se lanza si falta
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_attribute
+                   WHERE attrelid = to_regclass(''users'') AND attname = ''token_version'' AND NOT attisdropped) THEN
+        ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
+    END IF;
+END';
+
+-- Tokens revocados individualmente (logout); ver TokenRevocationList
+CREATE SEQUENCE IF NOT EXISTS revoked_tokens_seq START WITH 1 INCREMENT BY 50;
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    id BIGINT PRIMARY KEY DEFAULT nextval('revoked_tokens_seq'),
+    token_id VARCHAR(36) NOT NULL UNIQUE,
+    user_id BIGINT NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,35 @@
+-- Pasa los id de users, students, spaces y access_records de IDENTITY a las secuencias pooled
+-- (allocationSize = 50) que usa Hibernate, y deja un DEFAULT nextval para los INSERT manuales
+-- (data.sql).
+--
+-- Cada ALTER TABLE toma un bloqueo ACCESS EXCLUSIVE: ejecutar una sola vez, en una ventana de
+-- mantenimiento, antes de desplegar la versión que usa secuencias:
+--
+--   psql -v ON_ERROR_STOP=1 -d space_management -f identity-to-sequence.sql
+--
+-- Es idempotente. lock_timeout hace que falle en lugar de quedarse en cola detrás de una consulta
+-- larga (y bloquear a su vez todas las entradas y salidas); basta con relanzarlo. El perfil dev lo
+-- incluye en spring.sql.init para que una base de datos local nueva admita los INSERT de data.sql.
+-- Al arrancar, data-postgresql.sql solo crea las secuencias y las adelanta, sin bloquear tablas.
+
+BEGIN;
+
+SET LOCAL lock_timeout = '5s';
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+
+CREATE SEQUENCE IF NOT EXISTS students_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE students ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE students ALTER COLUMN id SET DEFAULT nextval('students_seq');
+
+CREATE SEQUENCE IF NOT EXISTS spaces_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE spaces ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE spaces ALTER COLUMN id SET DEFAULT nextval('spaces_seq');
+
+CREATE SEQUENCE IF NOT EXISTS access_records_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE access_records ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE access_records ALTER COLUMN id SET DEFAULT nextval('access_records_seq');
+
+COMMIT;
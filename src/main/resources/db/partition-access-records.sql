@@ -0,0 +1,89 @@
+-- Convierte access_records en una tabla particionada por rango mensual de entry_time e instala
+-- la guarda de un único acceso ACTIVE por estudiante.
+--
+-- Bloquea access_records en modo ACCESS EXCLUSIVE y copia todo el historial a la tabla nueva:
+-- ejecutar en una ventana de mantenimiento, con la aplicación detenida y tras una copia de
+-- seguridad:
+--
+--   psql -v ON_ERROR_STOP=1 -d space_management -f partition-access-records.sql
+--
+-- Es idempotente: si access_records ya está particionada solo reinstala la guarda. Las
+-- particiones futuras y la retención las gestiona AccessRecordPartitionService, que también
+-- ejecuta este script al arrancar si access-records.partitioning.migrate-existing-table=true.
+
+BEGIN;
+
+LOCK TABLE access_records IN ACCESS EXCLUSIVE MODE;
+
+-- PostgreSQL exige que la clave de partición forme parte de cualquier índice único, así que la
+-- clave primaria pasa a ser (id, entry_time) y el índice parcial uk_access_records_active_student
+-- se sustituye por la tabla access_records_active (más abajo).
+DO $migrate$
+DECLARE
+    partition_month timestamp;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('access_records')) <> 'r' THEN
+        RAISE NOTICE 'access_records is already partitioned';
+        RETURN;
+    END IF;
+
+    ALTER TABLE access_records RENAME TO access_records_unpartitioned;
+    DROP INDEX IF EXISTS uk_access_records_active_student;
+
+    CREATE TABLE access_records
+        (LIKE access_records_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+        PARTITION BY RANGE (entry_time);
+    ALTER TABLE access_records ADD PRIMARY KEY (id, entry_time);
+    ALTER TABLE access_records ADD FOREIGN KEY (student_id) REFERENCES students (id);
+    ALTER TABLE access_records ADD FOREIGN KEY (space_id) REFERENCES spaces (id);
+    CREATE INDEX idx_access_records_space_entry ON access_records (space_id, entry_time);
+    CREATE INDEX idx_access_records_status ON access_records (status);
+
+    -- Una partición por mes desde el acceso más antiguo hasta el mes actual
+    partition_month := date_trunc('month',
+            COALESCE((SELECT MIN(entry_time) FROM access_records_unpartitioned), now()));
+    WHILE partition_month <= date_trunc('month', now()) LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF access_records FOR VALUES FROM (%L) TO (%L)',
+                'access_records_' || to_char(partition_month, 'YYYY_MM'),
+                partition_month, partition_month + interval '1 month');
+        partition_month := partition_month + interval '1 month';
+    END LOOP;
+
+    INSERT INTO access_records SELECT * FROM access_records_unpartitioned;
+    DROP TABLE access_records_unpartitioned;
+END
+$migrate$;
+
+-- Un acceso ACTIVE por estudiante: la clave primaria conserva el nombre del antiguo índice
+-- parcial para que AccessRecordService siga traduciendo la violación a su error de negocio.
+CREATE TABLE IF NOT EXISTS access_records_active (
+    student_id BIGINT NOT NULL,
+    access_record_id BIGINT NOT NULL,
+    CONSTRAINT uk_access_records_active_student PRIMARY KEY (student_id)
+);
+
+CREATE OR REPLACE FUNCTION access_records_active_guard() RETURNS trigger
+LANGUAGE plpgsql AS $guard$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.status = 'ACTIVE' THEN
+        DELETE FROM access_records_active
+        WHERE student_id = OLD.student_id AND access_record_id = OLD.id;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.status = 'ACTIVE' THEN
+        INSERT INTO access_records_active (student_id, access_record_id)
+        VALUES (NEW.student_id, NEW.id);
+    END IF;
+    RETURN NULL;
+END
+$guard$;
+
+DROP TRIGGER IF EXISTS trg_access_records_active_guard ON access_records;
+CREATE TRIGGER trg_access_records_active_guard
+    AFTER INSERT OR UPDATE OF status OR DELETE ON access_records
+    FOR EACH ROW EXECUTE FUNCTION access_records_active_guard();
+
+INSERT INTO access_records_active (student_id, access_record_id)
+SELECT student_id, id FROM access_records WHERE status = 'ACTIVE'
+ON CONFLICT (student_id) DO NOTHING;
+
+COMMIT;
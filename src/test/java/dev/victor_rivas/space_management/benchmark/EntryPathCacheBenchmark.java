@@ -0,0 +1,106 @@
+package dev.victor_rivas.space_management.benchmark;
+
+import dev.victor_rivas.space_management.enums.*;
+import dev.victor_rivas.space_management.model.dto.AccessRecordDTO;
+import dev.victor_rivas.space_management.model.dto.EntryRequest;
+import dev.victor_rivas.space_management.model.dto.ExitRequest;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.service.AccessRecordService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Benchmark manual de lecturas a base de datos en el camino de entrada/salida.
+ * Ejecutar con: {@code mvn test -Dtest=EntryPathCacheBenchmark}
+ * y, para comparar sin caché de segundo nivel, añadir
+ * {@code -Dspring.jpa.properties.hibernate.cache.use_second_level_cache=false}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.dev.victor_rivas=WARN"
+})
+@ActiveProfiles("test")
+class EntryPathCacheBenchmark {
+
+    private static final int CYCLES = 2_000;
+
+    @Autowired
+    private AccessRecordService accessRecordService;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.jpa.properties.hibernate.cache.use_second_level_cache}")
+    private boolean secondLevelCache;
+
+    @Test
+    void entryExitCycle() {
+        accessRecordRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        studentRepository.deleteAllInBatch();
+        spaceRepository.deleteAllInBatch();
+
+        Student student = studentRepository.save(Student.builder()
+                .registrationNumber("BEN-CACHE")
+                .name("Benchmark Student")
+                .email("bench-cache@test.com")
+                .password("{noop}password")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        Space space = spaceRepository.save(Space.builder()
+                .code("BEN-CACHE")
+                .name("Benchmark Space")
+                .type(SpaceType.LABORATORY)
+                .capacity(10)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        run(student, space, CYCLES / 4);
+        statistics.clear();
+
+        long start = System.nanoTime();
+        run(student, space, CYCLES);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("[benchmark] second-level cache %-5s %d entry+exit cycles: %d ms, "
+                        + "%.2f statements/cycle, %.2f entity loads from DB/cycle, %.2f L2 hits/cycle%n",
+                secondLevelCache, CYCLES, elapsedMs,
+                statistics.getPrepareStatementCount() / (double) CYCLES,
+                statistics.getEntityLoadCount() / (double) CYCLES,
+                statistics.getSecondLevelCacheHitCount() / (double) CYCLES);
+    }
+
+    private void run(Student student, Space space, int cycles) {
+        for (int i = 0; i < cycles; i++) {
+            AccessRecordDTO entry = accessRecordService.registerEntry(
+                    new EntryRequest(student.getId(), space.getId(), null));
+            accessRecordService.registerExit(new ExitRequest(entry.getId(), null));
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package dev.victor_rivas.space_management.benchmark;
+
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.RevokedTokenRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtAuthenticationFilter;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import dev.victor_rivas.space_management.security.TokenRevocationList;
+import dev.victor_rivas.space_management.security.TokenVersionRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH del coste de {@link JwtAuthenticationFilter} por petición, en una ruta protegida
+ * y en rutas públicas (scrape de Prometheus sin token, /api/auth con token).
+ * Ejecutar con: {@code mvn test -Dtest=JwtFilterBenchmark}
+ * (gc.alloc.rate.norm indica los bytes asignados por petición).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET =
+            "testSecretKeyForEducationSpaceManagementSystemThatIsLongEnoughForTesting123456";
+
+    private final FilterChain chain = (request, response) -> { };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest scrapeRequest;
+    private MockHttpServletRequest publicRequestWithToken;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 3_600_000L, 10_000L);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        UserRepository.TokenState state = Mockito.mock(UserRepository.TokenState.class);
+        Mockito.when(state.getId()).thenReturn(1L);
+        Mockito.when(state.getTokenVersion()).thenReturn(0);
+        Mockito.when(state.getEnabled()).thenReturn(true);
+        Mockito.when(userRepository.findTokenStateById(1L)).thenReturn(Optional.of(state));
+
+        TokenRevocationList revocationList = new TokenRevocationList(
+                Mockito.mock(RevokedTokenRepository.class), new SimpleMeterRegistry());
+        filter = new JwtAuthenticationFilter(
+                tokenProvider, new TokenVersionRegistry(userRepository), revocationList);
+
+        User user = User.builder()
+                .id(1L)
+                .username("STU001")
+                .email("test@student.com")
+                .password("unused")
+                .role(Role.STUDENT)
+                .enabled(true)
+                .tokenVersion(0)
+                .build();
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        authenticatedRequest = request("/api/spaces", token);
+        scrapeRequest = request("/actuator/prometheus", null);
+        publicRequestWithToken = request("/api/auth/login", token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticatedRoute() throws Exception {
+        return run(authenticatedRequest);
+    }
+
+    @Benchmark
+    public Object prometheusScrape() throws Exception {
+        return run(scrapeRequest);
+    }
+
+    @Benchmark
+    public Object publicRouteWithToken() throws Exception {
+        return run(publicRequestWithToken);
+    }
+
+    private Object run(MockHttpServletRequest request) throws Exception {
+        filter.doFilter(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private static MockHttpServletRequest request(String uri, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        return request;
+    }
+
+    @Test
+    void run() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
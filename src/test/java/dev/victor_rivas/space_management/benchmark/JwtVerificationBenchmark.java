@@ -0,0 +1,90 @@
+package dev.victor_rivas.space_management.benchmark;
+
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark JMH de la verificación de JWT por petición: el camino anterior (clave y parser nuevos,
+ * dos parseos), un único parseo con clave y parser reutilizados, y un token ya verificado en caché.
+ * Ejecutar con: {@code mvn test -Dtest=JwtVerificationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET =
+            "testSecretKeyForEducationSpaceManagementSystemThatIsLongEnoughForTesting123456";
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedProvider = new JwtTokenProvider(SECRET, 3_600_000L, 10_000L);
+        uncachedProvider = new JwtTokenProvider(SECRET, 3_600_000L, 0L);
+
+        User user = User.builder()
+                .id(1L)
+                .username("STU001")
+                .email("test@student.com")
+                .password("unused")
+                .role(Role.STUDENT)
+                .enabled(true)
+                .tokenVersion(0)
+                .build();
+        token = cachedProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Benchmark
+    public String previousDoubleParse() {
+        // Reproduce validateToken + getUsernameFromToken tal como estaban antes
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token);
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return uncachedProvider.verifyToken(token);
+    }
+
+    @Benchmark
+    public Claims verifiedTokenCacheHit() {
+        return cachedProvider.verifyToken(token);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,158 @@
+package dev.victor_rivas.space_management.benchmark;
+
+import dev.victor_rivas.space_management.enums.*;
+import dev.victor_rivas.space_management.model.entity.AccessRecord;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Benchmark manual de inserciones masivas (no se ejecuta con {@code mvn test}).
+ * Ejecutar con: {@code mvn test -Dtest=PersistenceBatchingBenchmark}
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=20",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.dev.victor_rivas=WARN"
+})
+@ActiveProfiles("test")
+class PersistenceBatchingBenchmark {
+
+    private static final int ROWS = 2_000;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        clean();
+    }
+
+    @Test
+    void bulkStudentImport() {
+        for (int round = 0; round < ROUNDS; round++) {
+            clean();
+            final int offset = round * ROWS;
+            measure("student import (" + ROWS + " students + users)", () -> {
+                List<Student> students = new ArrayList<>(ROWS);
+                for (int i = 0; i < ROWS; i++) {
+                    students.add(Student.builder()
+                            .registrationNumber("BEN" + (offset + i))
+                            .name("Benchmark Student " + i)
+                            .email("bench" + (offset + i) + "@test.com")
+                            .password("{noop}password")
+                            .status(StudentStatus.ACTIVE)
+                            .build());
+                }
+                studentRepository.saveAll(students);
+
+                List<User> users = new ArrayList<>(ROWS);
+                for (Student student : students) {
+                    users.add(User.builder()
+                            .username(student.getRegistrationNumber())
+                            .email(student.getEmail())
+                            .password(student.getPassword())
+                            .role(Role.STUDENT)
+                            .student(student)
+                            .enabled(true)
+                            .build());
+                }
+                userRepository.saveAll(users);
+            });
+        }
+    }
+
+    @Test
+    void bulkEntryInserts() {
+        Student student = studentRepository.save(Student.builder()
+                .registrationNumber("BEN-ENTRY")
+                .name("Benchmark Student")
+                .email("bench-entry@test.com")
+                .password("{noop}password")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        Space space = spaceRepository.save(Space.builder()
+                .code("BEN-SPACE")
+                .name("Benchmark Space")
+                .type(SpaceType.LABORATORY)
+                .capacity(ROWS)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+
+        for (int round = 0; round < ROUNDS; round++) {
+            accessRecordRepository.deleteAllInBatch();
+            measure("entry inserts (" + ROWS + " access records)", () -> {
+                LocalDateTime now = LocalDateTime.now();
+                List<AccessRecord> records = new ArrayList<>(ROWS);
+                for (int i = 0; i < ROWS; i++) {
+                    records.add(AccessRecord.builder()
+                            .student(student)
+                            .space(space)
+                            .entryTime(now.minusMinutes(i + 60L))
+                            .exitTime(now.minusMinutes(i))
+                            .status(AccessStatus.COMPLETED)
+                            .build());
+                }
+                accessRecordRepository.saveAll(records);
+            });
+        }
+    }
+
+    private void measure(String label, Runnable work) {
+        statistics.clear();
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> work.run());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("[benchmark] %-40s %6d ms, %6d JDBC statements prepared, %6d entities inserted%n",
+                label, elapsedMs, statistics.getPrepareStatementCount(), statistics.getEntityInsertCount());
+    }
+
+    private void clean() {
+        accessRecordRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        accessRecordRepository.flush();
+        studentRepository.deleteAllInBatch();
+        spaceRepository.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,218 @@
+package dev.victor_rivas.space_management.integration;
+
+import dev.victor_rivas.space_management.archive.AccessArchiveService;
+import dev.victor_rivas.space_management.archive.AccessArchiveStore;
+import dev.victor_rivas.space_management.archive.ArchivedAccessRecord;
+import dev.victor_rivas.space_management.enums.*;
+import dev.victor_rivas.space_management.model.entity.AccessRecord;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class AccessArchiveIntegrationTest {
+
+    @TempDir
+    static Path archiveDirectory;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("access-records.archive.enabled", () -> "true");
+        registry.add("access-records.archive.directory", () -> archiveDirectory.toString());
+        registry.add("access-records.archive.segment-size", () -> "3");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AccessArchiveService accessArchiveService;
+
+    @Autowired
+    private AccessArchiveStore accessArchiveStore;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String adminToken;
+    private Student testStudent;
+    private Space testSpace;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        spaceRepository.deleteAll();
+
+        User adminUser = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password("{noop}admin123")
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(adminUser, null, adminUser.getAuthorities()));
+
+        testStudent = studentRepository.save(Student.builder()
+                .registrationNumber("ARC001")
+                .name("Archived Student")
+                .email("archived@test.com")
+                .password("{noop}password123")
+                .status(StudentStatus.ACTIVE)
+                .build());
+
+        testSpace = spaceRepository.save(Space.builder()
+                .code("ARC-LAB")
+                .name("Archive Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+    }
+
+    @Test
+    void archiveOlderThan_MovesClosedRecordsToSegmentsAndKeepsThemReadable() throws Exception {
+        LocalDateTime base = LocalDateTime.now().minusDays(20).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 7; i++) {
+            accessRecordRepository.save(AccessRecord.builder()
+                    .student(testStudent)
+                    .space(testSpace)
+                    .entryTime(base.plusHours(i))
+                    .exitTime(i == 6 ? null : base.plusHours(i).plusMinutes(45))
+                    .status(i == 6 ? AccessStatus.CANCELLED : AccessStatus.COMPLETED)
+                    .notes(i == 0 ? "Sesión de estudio | salida por la puerta norte" : null)
+                    .build());
+        }
+        AccessRecord recent = accessRecordRepository.save(AccessRecord.builder()
+                .student(testStudent)
+                .space(testSpace)
+                .entryTime(LocalDateTime.now().minusHours(1))
+                .status(AccessStatus.ACTIVE)
+                .build());
+
+        long archived = accessArchiveService.archiveOlderThan(LocalDateTime.now().minusDays(10));
+
+        assertThat(archived).isEqualTo(7);
+        assertThat(accessRecordRepository.findAll()).extracting(AccessRecord::getId)
+                .containsExactly(recent.getId());
+
+        List<ArchivedAccessRecord> records = accessArchiveStore.findBySpace(testSpace.getId());
+        assertThat(records).hasSize(7);
+        assertThat(records.get(0).getEntryTime()).isEqualTo(base);
+        assertThat(records.get(0).getDurationInMinutes()).isEqualTo(45L);
+        assertThat(records.get(0).getNotes()).isEqualTo("Sesión de estudio | salida por la puerta norte");
+        assertThat(records.get(1).getNotes()).isNull();
+        assertThat(records.get(6).getExitTime()).isNull();
+        assertThat(records.get(6).getStatus()).isEqualTo(AccessStatus.CANCELLED);
+
+        mockMvc.perform(get("/api/access/student/" + testStudent.getId())
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(8))
+                .andExpect(jsonPath("$.data[0].studentName").value("Archived Student"))
+                .andExpect(jsonPath("$.data[0].durationInMinutes").value(45))
+                .andExpect(jsonPath("$.data[0].notes").value("Sesión de estudio | salida por la puerta norte"));
+
+        mockMvc.perform(get("/api/reports/occupancy/space/" + testSpace.getId())
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalAccessesThisMonth").value(8))
+                .andExpect(jsonPath("$.data.averageDurationInMinutes").value(45.0));
+    }
+
+    @Test
+    void archivedRecords_AreFilteredByOwnerAndKeepStudentAndSpaceFromHardDelete() throws Exception {
+        Student otherStudent = studentRepository.save(Student.builder()
+                .registrationNumber("ARC002")
+                .name("Other Student")
+                .email("other@test.com")
+                .password("{noop}password123")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        Space otherSpace = spaceRepository.save(Space.builder()
+                .code("ARC-ROOM")
+                .name("Archive Room")
+                .type(SpaceType.CLASSROOM)
+                .capacity(10)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+        LocalDateTime base = LocalDateTime.now().minusDays(20).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 4; i++) {
+            accessRecordRepository.save(AccessRecord.builder()
+                    .student(i % 2 == 0 ? testStudent : otherStudent)
+                    .space(i < 3 ? testSpace : otherSpace)
+                    .entryTime(base.plusHours(i))
+                    .exitTime(base.plusHours(i).plusMinutes(30))
+                    .status(AccessStatus.COMPLETED)
+                    .notes("Nota " + i)
+                    .build());
+        }
+        accessArchiveService.archiveOlderThan(LocalDateTime.now().minusDays(10));
+
+        assertThat(accessArchiveStore.findByStudent(testStudent.getId()))
+                .extracting(ArchivedAccessRecord::getStudentId).containsOnly(testStudent.getId()).hasSize(2);
+        // Las notas de las filas descartadas se saltan sin desalinear las de las filas devueltas
+        assertThat(accessArchiveStore.findByStudent(testStudent.getId()))
+                .extracting(ArchivedAccessRecord::getNotes).containsExactly("Nota 0", "Nota 2");
+        assertThat(accessArchiveStore.findBySpace(otherSpace.getId()))
+                .extracting(ArchivedAccessRecord::getSpaceId).containsExactly(otherSpace.getId());
+
+        // Sin filas en access_records, solo en el archivo: se desactivan en lugar de borrarse
+        assertThat(accessRecordRepository.count()).isZero();
+        mockMvc.perform(delete("/api/students/" + otherStudent.getId())
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().is2xxSuccessful());
+        mockMvc.perform(delete("/api/spaces/" + otherSpace.getId())
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().is2xxSuccessful());
+
+        assertThat(studentRepository.findById(otherStudent.getId()))
+                .hasValueSatisfying(student -> assertThat(student.getStatus()).isEqualTo(StudentStatus.INACTIVE));
+        assertThat(spaceRepository.findById(otherSpace.getId()))
+                .hasValueSatisfying(space -> assertThat(space.getStatus()).isEqualTo(SpaceStatus.UNAVAILABLE));
+    }
+}
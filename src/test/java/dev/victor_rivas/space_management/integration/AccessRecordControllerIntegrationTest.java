@@ -18,17 +18,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.time.LocalDateTime;
-
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -258,6 +270,68 @@ class AccessRecordControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Student already has an active access in a space"));
     }
 
+    @Test
+    void registerEntry_WithConcurrentDuplicateScans_RegistersOnlyOneActiveAccess() throws Exception {
+        int scans = 8;
+        String body = objectMapper.writeValueAsString(new EntryRequest(testStudent.getId(), testSpace.getId(), null));
+        ExecutorService executor = Executors.newFixedThreadPool(scans);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (int i = 0; i < scans; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/access/entry")
+                                    .header("Authorization", "Bearer " + studentToken)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(body))
+                            .andReturn();
+                }));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<MvcResult> result : results) {
+                MockHttpServletResponse response = result.get(30, TimeUnit.SECONDS).getResponse();
+                if (response.getStatus() == 200) {
+                    accepted++;
+                } else {
+                    assertThat(response.getStatus()).isEqualTo(400);
+                    assertThat(response.getContentAsString())
+                            .contains("Student already has an active access in a space");
+                }
+            }
+
+            assertThat(accepted).isEqualTo(1);
+            assertThat(accessRecordRepository.existsByStudentIdAndStatus(
+                    testStudent.getId(), AccessStatus.ACTIVE)).isTrue();
+            assertThat(accessRecordRepository.findByStatus(AccessStatus.ACTIVE)).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void saveSecondActiveAccess_ForSameStudent_IsRejectedByDatabase() {
+        accessRecordRepository.save(AccessRecord.builder()
+                .student(testStudent)
+                .space(testSpace)
+                .entryTime(LocalDateTime.now())
+                .status(AccessStatus.ACTIVE)
+                .build());
+
+        AccessRecord duplicate = AccessRecord.builder()
+                .student(testStudent)
+                .space(testSpace)
+                .entryTime(LocalDateTime.now())
+                .status(AccessStatus.ACTIVE)
+                .build();
+
+        assertThatThrownBy(() -> accessRecordRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @Test
     void registerEntry_WithInvalidStudentId_ReturnsNotFound() throws Exception {
         EntryRequest request = new EntryRequest();
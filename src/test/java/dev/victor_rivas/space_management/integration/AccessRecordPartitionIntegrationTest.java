@@ -0,0 +1,217 @@
+package dev.victor_rivas.space_management.integration;
+
+import dev.victor_rivas.space_management.enums.AccessStatus;
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.entity.AccessRecord;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.service.AccessRecordPartitionProperties;
+import dev.victor_rivas.space_management.service.AccessRecordPartitionService;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Particionado de access_records contra un PostgreSQL real: H2 no tiene tablas particionadas ni
+ * triggers PL/pgSQL. Los tests comparten la base de datos y se ejecutan en orden: el primero
+ * migra la tabla con db/partition-access-records.sql y los siguientes trabajan sobre el resultado.
+ * Sin Docker se omiten.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.sql.init.platform=postgresql",
+        "spring.sql.init.data-locations=classpath:data-postgresql.sql"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AccessRecordPartitionIntegrationTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final YearMonth CURRENT = YearMonth.now();
+
+    @Autowired
+    private AccessRecordPartitionService partitionService;
+
+    @Autowired
+    private AccessRecordPartitionProperties properties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Test
+    @Order(1)
+    void migration_ConvertsTableKeepingRowsAndPremakesPartitions() {
+        Student student = student("STU001");
+        Space space = space();
+        accessRecordRepository.save(access(student, space, CURRENT.minusMonths(5), AccessStatus.COMPLETED));
+        accessRecordRepository.save(access(student, space, CURRENT.minusMonths(1), AccessStatus.COMPLETED));
+        accessRecordRepository.save(access(student, space, CURRENT, AccessStatus.ACTIVE));
+        assertThat(relkind("access_records")).isEqualTo("r");
+
+        properties.setEnabled(true);
+        properties.setMigrateExistingTable(true);
+        properties.setPremakeMonths(3);
+        partitionService.maintainPartitions();
+
+        assertThat(relkind("access_records")).isEqualTo("p");
+        assertThat(accessRecordRepository.count()).isEqualTo(3);
+        // Un mes por partición desde el acceso más antiguo hasta tres meses por delante
+        for (int i = -5; i <= 3; i++) {
+            assertThat(attachedPartitions()).contains(partition(CURRENT.plusMonths(i)));
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition(CURRENT.minusMonths(5)),
+                Long.class)).isEqualTo(1);
+        // La guarda se rellena con los accesos ACTIVE existentes
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access_records_active",
+                Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    @Order(2)
+    void duplicateActiveAccess_ViolatesActiveStudentGuard() {
+        Student student = studentRepository.findByRegistrationNumber("STU001").orElseThrow();
+        Space space = spaceRepository.findAll().get(0);
+
+        assertThatThrownBy(() -> accessRecordRepository.saveAndFlush(
+                access(student, space, CURRENT, AccessStatus.ACTIVE)))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .hasMessageContaining("uk_access_records_active_student");
+    }
+
+    @Test
+    @Order(3)
+    void completingAccess_ReleasesActiveStudentGuard() {
+        AccessRecord active = accessRecordRepository.findByStatus(AccessStatus.ACTIVE).get(0);
+        active.setStatus(AccessStatus.COMPLETED);
+        active.setExitTime(LocalDateTime.now());
+        accessRecordRepository.saveAndFlush(active);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access_records_active",
+                Long.class)).isZero();
+        accessRecordRepository.saveAndFlush(access(active.getStudent(), active.getSpace(), CURRENT, AccessStatus.ACTIVE));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM access_records_active",
+                Long.class)).isEqualTo(1);
+    }
+
+    @Test
+    @Order(4)
+    void findByEntryTimeBetween_PrunesToTheMonthPartition() {
+        YearMonth month = CURRENT.minusMonths(1);
+        LocalDateTime start = month.atDay(1).atStartOfDay();
+        LocalDateTime end = month.atEndOfMonth().atTime(23, 59, 59);
+
+        // Misma condición que genera Hibernate para findByEntryTimeBetween
+        List<String> plan = jdbcTemplate.queryForList(
+                "EXPLAIN SELECT * FROM access_records ar WHERE ar.entry_time BETWEEN ? AND ?",
+                String.class, start, end);
+
+        assertThat(String.join("\n", plan))
+                .contains(partition(month))
+                .doesNotContain(partition(CURRENT))
+                .doesNotContain(partition(CURRENT.minusMonths(5)));
+        assertThat(accessRecordRepository.findByEntryTimeBetween(start, end)).hasSize(1);
+    }
+
+    @Test
+    @Order(5)
+    void retention_DetachesThenDropsExpiredPartitionsButKeepsActiveOnes() {
+        properties.setRetentionMonths(4);
+        properties.setDropExpired(false);
+        partitionService.maintainPartitions();
+
+        // Desvinculada: fuera de la tabla padre pero con sus filas intactas
+        String detached = partition(CURRENT.minusMonths(5));
+        assertThat(attachedPartitions()).doesNotContain(detached);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + detached, Long.class)).isEqualTo(1);
+
+        Student other = student("STU002");
+        accessRecordRepository.save(access(other, spaceRepository.findAll().get(0),
+                CURRENT.minusMonths(4), AccessStatus.ACTIVE));
+        properties.setRetentionMonths(2);
+        properties.setDropExpired(true);
+        partitionService.maintainPartitions();
+
+        assertThat(relkind(partition(CURRENT.minusMonths(3)))).isNull();
+        assertThat(attachedPartitions()).contains(partition(CURRENT.minusMonths(4)));
+    }
+
+    private String relkind(String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT (SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?))", String.class, table);
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList("SELECT c.relname::text FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass('access_records')", String.class);
+    }
+
+    private static String partition(YearMonth month) {
+        return String.format("access_records_%d_%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private Student student(String registrationNumber) {
+        return studentRepository.save(Student.builder()
+                .registrationNumber(registrationNumber)
+                .name("Test Student " + registrationNumber)
+                .email(registrationNumber.toLowerCase() + "@test.com")
+                .password("unused")
+                .status(StudentStatus.ACTIVE)
+                .build());
+    }
+
+    private Space space() {
+        return spaceRepository.save(Space.builder()
+                .code("LAB-001")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+    }
+
+    private static AccessRecord access(Student student, Space space, YearMonth month, AccessStatus status) {
+        LocalDateTime entry = month.atDay(15).atTime(10, 0);
+        return AccessRecord.builder()
+                .student(student)
+                .space(space)
+                .entryTime(entry)
+                .exitTime(status == AccessStatus.ACTIVE ? null : entry.plusHours(1))
+                .status(status)
+                .build();
+    }
+}
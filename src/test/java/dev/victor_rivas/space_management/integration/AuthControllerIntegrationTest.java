@@ -9,6 +9,8 @@ import dev.victor_rivas.space_management.model.entity.User;
 import dev.victor_rivas.space_management.repository.AccessRecordRepository;
 import dev.victor_rivas.space_management.repository.StudentRepository;
 import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import dev.victor_rivas.space_management.security.TokenVersionRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,16 +18,21 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-@SpringBootTest
+// Coste 5: por encima del mínimo de BCrypt para que haya hashes antiguos de menor coste
+@SpringBootTest(properties = "auth.password-hashing.strength=5")
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
@@ -49,6 +56,14 @@ class AuthControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersionRegistry;
+
+    private User user;
+
     @BeforeEach
     void setUp() {
         accessRecordRepository.deleteAll();
@@ -67,7 +82,7 @@ class AuthControllerIntegrationTest {
         student = studentRepository.save(student);
 
         // Create a test user
-        User user = User.builder()
+        user = User.builder()
                 .username("STU001")
                 .email("test@student.com")
                 .password(passwordEncoder.encode("password123"))
@@ -75,7 +90,7 @@ class AuthControllerIntegrationTest {
                 .student(student)
                 .enabled(true)
                 .build();
-        userRepository.save(user);
+        user = userRepository.save(user);
     }
 
     @Test
@@ -94,6 +109,43 @@ class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.data.email").value("test@student.com"));
     }
 
+    @Test
+    void login_WithLegacyHash_UpgradesStoredHash() throws Exception {
+        // Hash sin prefijo {id}, como los sembrados en data.sql, con un coste menor que el calibrado
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password123"));
+        userRepository.save(user);
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("STU001", "password123"))))
+                .andExpect(status().isOk());
+
+        String upgraded = userRepository.findByUsername("STU001").orElseThrow().getPassword();
+        assertThat(upgraded).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("password123", upgraded)).isTrue();
+
+        // El hash actualizado sigue sirviendo para autenticarse
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("STU001", "password123"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void login_WithLegacyHashOfHigherCost_KeepsStoredHash() throws Exception {
+        // Los hashes de data.sql son de coste 12: rehacerlos con el coste calibrado los debilitaría
+        String legacy = new BCryptPasswordEncoder(12).encode("password123");
+        user.setPassword(legacy);
+        userRepository.save(user);
+
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("STU001", "password123"))))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findByUsername("STU001").orElseThrow().getPassword()).isEqualTo(legacy);
+    }
+
     @Test
     void login_WithInvalidUsername_ReturnsUnauthorized() throws Exception {
         LoginRequest request = new LoginRequest("NONEXISTENT", "password123");
@@ -192,4 +244,140 @@ class AuthControllerIntegrationTest {
                 .andExpect(status().isBadRequest())
                 .andExpect(jsonPath("$.message").value("Email already exists"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void register_SameStudentTwice_SecondAttemptReturnsBadRequest() throws Exception {
+        // El primer alta entra en el filtro de Bloom; el segundo pasa por la consulta exacta
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setRegistrationNumber("STU004");
+        request.setName("Enrolled Student");
+        request.setEmail("enrolled@test.com");
+        request.setPassword("password123");
+        request.setPhoneNumber("5555555555");
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        request.setRegistrationNumber("STU005");
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Email already exists"));
+    }
+
+    @Test
+    void register_WithEmailTakenByNonStudentUser_ReturnsBadRequest() throws Exception {
+        // La comprobación previa solo mira students: el conflicto salta en el INSERT de users
+        userRepository.save(admin("admin", "shared@test.com"));
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setRegistrationNumber("STU006");
+        request.setName("Another Student");
+        request.setEmail("shared@test.com");
+        request.setPassword("password123");
+        request.setPhoneNumber("5555555555");
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Email already exists"));
+        assertThat(studentRepository.findByRegistrationNumber("STU006")).isEmpty();
+    }
+
+    @Test
+    void register_WithUsernameTakenByNonStudentUser_IsNotReportedAsDuplicateRegistrationNumber() throws Exception {
+        // Choca con users.username, no con la matrícula de students: no se traduce a un error de negocio
+        userRepository.save(admin("STU007", "admin@test.com"));
+        CreateStudentRequest request = new CreateStudentRequest();
+        request.setRegistrationNumber("STU007");
+        request.setName("Another Student");
+        request.setEmail("another@test.com");
+        request.setPassword("password123");
+        request.setPhoneNumber("5555555555");
+
+        mockMvc.perform(post("/api/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.message").value("An unexpected error occurred"));
+        assertThat(studentRepository.findByRegistrationNumber("STU007")).isEmpty();
+    }
+
+    @Test
+    void request_WithTokenFromCurrentVersion_IsAuthenticated() throws Exception {
+        String token = generateToken(user);
+
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void request_WithTokenFromPreviousVersion_ReturnsUnauthorized() throws Exception {
+        String token = generateToken(user);
+
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        tokenVersionRegistry.refresh();
+
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void request_WithTokenOfDisabledUser_ReturnsUnauthorized() throws Exception {
+        String token = generateToken(user);
+
+        user.setEnabled(false);
+        userRepository.save(user);
+        tokenVersionRegistry.refresh();
+
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void logout_RevokesOnlyTheCurrentToken() throws Exception {
+        String token = generateToken(user);
+        String otherToken = generateToken(user);
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Logout successful"));
+
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + otherToken))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void logout_WithoutToken_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(post("/api/auth/logout"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private String generateToken(User user) {
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private User admin(String username, String email) {
+        return User.builder()
+                .username(username)
+                .email(email)
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build();
+    }
+}
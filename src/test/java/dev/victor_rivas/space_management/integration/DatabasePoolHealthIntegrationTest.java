@@ -0,0 +1,67 @@
+package dev.victor_rivas.space_management.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sin @AutoConfigureTestDatabase: la sonda solo inspecciona el pool si el DataSource es Hikari.
+// Pool pequeño y refrescos espaciados para que ninguna tarea programada tome conexiones.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pool-health;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=3",
+        "spring.datasource.hikari.connection-timeout=10000",
+        "jwt.token-version-refresh-ms=3600000",
+        "jwt.revocation-refresh-ms=3600000",
+        "health-checks.snapshot-refresh-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DatabasePoolHealthIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void readiness_WithEveryConnectionBorrowed_ReportsOutOfServiceWithoutWaiting() throws Exception {
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            // Todas prestadas y nadie esperando todavía
+            for (int i = 0; i < 3; i++) {
+                borrowed.add(dataSource.getConnection());
+            }
+
+            long start = System.nanoTime();
+            mockMvc.perform(get("/actuator/health/readiness"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("$.components.databasePool.status").value("OUT_OF_SERVICE"))
+                    .andExpect(jsonPath("$.components.databasePool.details.active").value(3));
+            // Pedir una conexión esperaría connection-timeout (10 s)
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2000);
+        } finally {
+            for (Connection connection : borrowed) {
+                connection.close();
+            }
+        }
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.components.databasePool.status").value("UP"));
+    }
+}
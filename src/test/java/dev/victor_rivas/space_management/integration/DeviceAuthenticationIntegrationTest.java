@@ -0,0 +1,156 @@
+package dev.victor_rivas.space_management.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.dto.EntryRequest;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "device-auth.replay-window=30s",
+        "device-auth.devices[0].id=turnstile-a1",
+        "device-auth.devices[0].secret=" + DeviceAuthenticationIntegrationTest.SECRET
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class DeviceAuthenticationIntegrationTest {
+
+    static final String SECRET = "dHVybnN0aWxlLWExLXNoYXJlZC1zZWNyZXQtZm9yLXRlc3Rz";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    private String entryBody;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        spaceRepository.deleteAll();
+
+        Student student = studentRepository.save(Student.builder()
+                .registrationNumber("STU001")
+                .name("Test Student")
+                .email("student@test.com")
+                .password("unused")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        Space space = spaceRepository.save(Space.builder()
+                .code("LAB-001")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+
+        entryBody = objectMapper.writeValueAsString(new EntryRequest(student.getId(), space.getId(), null));
+    }
+
+    @Test
+    void entry_WithValidSignature_RegistersEntry() throws Exception {
+        mockMvc.perform(signed("/api/access/entry", entryBody, System.currentTimeMillis()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+    }
+
+    @Test
+    void entry_ReplayedRequest_ReturnsUnauthorized() throws Exception {
+        long timestamp = System.currentTimeMillis();
+        mockMvc.perform(signed("/api/access/entry", entryBody, timestamp))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(signed("/api/access/entry", entryBody, timestamp))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void entry_WithTamperedBody_ReturnsUnauthorized() throws Exception {
+        long timestamp = System.currentTimeMillis();
+        mockMvc.perform(post("/api/access/entry")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(entryBody.replace("null", "\"tampered\""))
+                        .header("X-Device-Id", "turnstile-a1")
+                        .header("X-Device-Timestamp", timestamp)
+                        .header("X-Device-Signature", signature("POST", "/api/access/entry", timestamp, entryBody)))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void entry_WithStaleTimestamp_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(signed("/api/access/entry", entryBody, System.currentTimeMillis() - 60_000))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void deviceCredentials_OutsideAccessRoutes_AreIgnored() throws Exception {
+        long timestamp = System.currentTimeMillis();
+        mockMvc.perform(get("/api/access/active")
+                        .header("X-Device-Id", "turnstile-a1")
+                        .header("X-Device-Timestamp", timestamp)
+                        .header("X-Device-Signature", signature("GET", "/api/access/active", timestamp, "")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletRequestBuilder signed(String path, String body, long timestamp) throws Exception {
+        return post(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .header("X-Device-Id", "turnstile-a1")
+                .header("X-Device-Timestamp", timestamp)
+                .header("X-Device-Signature", signature("POST", path, timestamp, body));
+    }
+
+    private static String signature(String method, String path, long timestamp, String body) throws Exception {
+        String bodyHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(body.getBytes(StandardCharsets.UTF_8)));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(Base64.getDecoder().decode(SECRET), "HmacSHA256"));
+        byte[] digest = mac.doFinal((method + "\n" + path + "\n" + timestamp + "\n" + bodyHash)
+                .getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+}
@@ -0,0 +1,192 @@
+package dev.victor_rivas.space_management.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.dto.EntryRequest;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class FlightRecorderEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @TempDir
+    private Path tempDir;
+
+    private Student student;
+    private Space space;
+    private String adminToken;
+    private String studentToken;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        spaceRepository.deleteAll();
+
+        student = studentRepository.save(Student.builder()
+                .registrationNumber("STU001")
+                .name("Test Student")
+                .email("student@test.com")
+                .password("unused")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        space = spaceRepository.save(Space.builder()
+                .code("LAB-001")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password("unused")
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        User studentUser = userRepository.save(User.builder()
+                .username("STU001")
+                .email("student-user@test.com")
+                .password("unused")
+                .role(Role.STUDENT)
+                .student(student)
+                .enabled(true)
+                .build());
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+        studentToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(studentUser, null, studentUser.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        mockMvc.perform(delete("/actuator/jfr").header("Authorization", "Bearer " + adminToken));
+    }
+
+    @Test
+    void jfrEndpoint_WithoutAdminRole_IsRejected() throws Exception {
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/actuator/jfr")
+                        .header("Authorization", "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void recording_CapturesAccessAndJwtEvents() throws Exception {
+        mockMvc.perform(post("/actuator/jfr")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.configuration").value("default"));
+
+        mockMvc.perform(post("/api/access/entry")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EntryRequest(student.getId(), space.getId(), null))))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/reports/occupancy")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        byte[] dump = mockMvc.perform(get("/actuator/jfr/dump")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        Path file = Files.write(tempDir.resolve("recording.jfr"), dump);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("space_management.AccessOperation"))
+                .anySatisfy(e -> {
+                    assertThat(e.getString("operation")).isEqualTo("entry");
+                    assertThat(e.getLong("spaceId")).isEqualTo(space.getId());
+                    assertThat(e.getString("outcome")).isEqualTo("accepted");
+                });
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("space_management.AccessPhase"))
+                .extracting(e -> e.getString("phase"))
+                .contains("insert", "occupancy_count");
+        assertThat(events)
+                .extracting(e -> e.getEventType().getName())
+                .contains("space_management.JwtVerification", "space_management.ReportGeneration");
+
+        mockMvc.perform(delete("/actuator/jfr")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+    }
+
+    @Test
+    void start_WithUnknownConfiguration_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/actuator/jfr")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"configuration\": \"does-not-exist\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,82 @@
+package dev.victor_rivas.space_management.integration;
+
+import dev.victor_rivas.space_management.config.CustomHealthIndicator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Refrescos periódicos espaciados para que ninguna tarea programada consulte durante las sondas
+@SpringBootTest(properties = {
+        "jwt.token-version-refresh-ms=3600000",
+        "jwt.revocation-refresh-ms=3600000",
+        "health-checks.snapshot-refresh-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class HealthIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomHealthIndicator customHealthIndicator;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        customHealthIndicator.refresh();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void liveness_RunsNoQueries() throws Exception {
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.databasePool").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void readiness_ValidatesConnectionWithoutQueries() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.databasePool.status").value("UP"))
+                .andExpect(jsonPath("$.components.customHealth").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void health_ServesCountsFromSnapshot() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.components.customHealth.status").value("UP"))
+                .andExpect(jsonPath("$.components.customHealth.details.students").isNumber())
+                .andExpect(jsonPath("$.components.customHealth.details.snapshotAgeMs").isNumber())
+                .andExpect(jsonPath("$.components.db").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+}
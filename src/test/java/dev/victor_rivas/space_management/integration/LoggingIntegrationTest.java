@@ -0,0 +1,158 @@
+package dev.victor_rivas.space_management.integration;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.dto.EntryRequest;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.observability.SampledLogFilter;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ExtendWith(OutputCaptureExtension.class)
+class LoggingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private Student student;
+    private Space space;
+    private String adminToken;
+    private SampledLogFilter sampledLogFilter;
+    private double sampleRate;
+
+    @BeforeEach
+    void setUp() {
+        // Logback se configura una vez por JVM: el muestreo se fija aquí y no con logging.sample-rate
+        sampledLogFilter = loggerContext().getTurboFilterList().stream()
+                .filter(SampledLogFilter.class::isInstance)
+                .map(SampledLogFilter.class::cast)
+                .findFirst()
+                .orElseThrow();
+        sampleRate = sampledLogFilter.getRate();
+        sampledLogFilter.setRate(0);
+
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        spaceRepository.deleteAll();
+
+        student = studentRepository.save(Student.builder()
+                .registrationNumber("STU001")
+                .name("Test Student")
+                .email("student@test.com")
+                .password("unused")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        space = spaceRepository.save(Space.builder()
+                .code("LAB-001")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password("unused")
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        sampledLogFilter.setRate(sampleRate);
+    }
+
+    @Test
+    void rootLogger_WritesThroughAsyncAppenders() {
+        Logger root = loggerContext().getLogger(Logger.ROOT_LOGGER_NAME);
+
+        assertThat(root.getAppender("ASYNC_CONSOLE")).isInstanceOf(AsyncAppender.class);
+        assertThat(root.getAppender("ASYNC_FILE")).isInstanceOf(AsyncAppender.class);
+        assertThat(root.getAppender("ASYNC_ERROR_FILE")).isInstanceOf(AsyncAppender.class);
+        assertThat(root.getAppender("CONSOLE")).isNull();
+    }
+
+    @Test
+    void entrySuccess_IsSampledButFailureIsAlwaysLogged(CapturedOutput output) throws Exception {
+        mockMvc.perform(post("/api/access/entry")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EntryRequest(student.getId(), space.getId(), null))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/access/entry")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EntryRequest(student.getId(), space.getId(), null))))
+                .andExpect(status().isBadRequest());
+
+        // La cola es FIFO: cuando aparece el error, el éxito ya se habría escrito
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(output).contains("Entry registration failed - Student: " + student.getId()));
+        assertThat(output).doesNotContain("Entry registered successfully");
+    }
+
+    private static LoggerContext loggerContext() {
+        return (LoggerContext) LoggerFactory.getILoggerFactory();
+    }
+}
@@ -0,0 +1,296 @@
+package dev.victor_rivas.space_management.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.dto.EntryRequest;
+import dev.victor_rivas.space_management.model.dto.ExitRequest;
+import dev.victor_rivas.space_management.model.dto.SpaceDTO;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import dev.victor_rivas.space_management.service.MetricsService;
+import dev.victor_rivas.space_management.service.SpaceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Refrescos periódicos espaciados para que ninguna tarea programada consulte durante el scrape
+@SpringBootTest(properties = {
+        "jwt.token-version-refresh-ms=3600000",
+        "jwt.revocation-refresh-ms=3600000",
+        "metrics.space-gauges.max-spaces=2",
+        "metrics.space-gauges.max-buildings=2"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MetricsService metricsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private Student student;
+    private Space space;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        spaceRepository.deleteAll();
+
+        student = studentRepository.save(Student.builder()
+                .registrationNumber("STU001")
+                .name("Test Student")
+                .email("student@test.com")
+                .password("unused")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        space = spaceRepository.save(Space.builder()
+                .code("LAB-001")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .building("Engineering")
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password("unused")
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+
+        // Los datos se insertaron por el repositorio, sin pasar por los servicios
+        metricsService.reconcileGauges();
+    }
+
+    @Test
+    void prometheusScrape_RunsNoQueries() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("access_active_current")))
+                .andExpect(content().string(containsString("access_completed_total")));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void businessGauges_FollowEntryAndExitWithoutQuerying() throws Exception {
+        assertThat(gauge("access.active.current")).isZero();
+        assertThat(gauge("spaces.available.total")).isEqualTo(1);
+        assertThat(gauge("students.active.total")).isEqualTo(1);
+
+        String response = mockMvc.perform(post("/api/access/entry")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EntryRequest(student.getId(), space.getId(), null))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long accessRecordId = objectMapper.readTree(response).path("data").path("id").asLong();
+
+        assertThat(gauge("access.active.current")).isEqualTo(1);
+        assertThat(gauge("spaces.available.total")).isZero();
+        assertThat(gauge("spaces.occupied.total")).isEqualTo(1);
+
+        ExitRequest exit = new ExitRequest();
+        exit.setAccessRecordId(accessRecordId);
+        mockMvc.perform(post("/api/access/exit")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(exit)))
+                .andExpect(status().isOk());
+
+        assertThat(gauge("access.active.current")).isZero();
+        assertThat(gauge("access.completed.total")).isEqualTo(1);
+        assertThat(gauge("spaces.available.total")).isEqualTo(1);
+        assertThat(gauge("spaces.total")).isEqualTo(1);
+    }
+
+    @Test
+    void spaceGauges_FollowEntriesAndAggregateBeyondLimit() throws Exception {
+        for (int i = 2; i <= 3; i++) {
+            spaceRepository.save(Space.builder()
+                    .code("LAB-00" + i)
+                    .name("Laboratory " + i)
+                    .type(SpaceType.LABORATORY)
+                    .capacity(10 * i)
+                    .building("Sciences")
+                    .status(SpaceStatus.AVAILABLE)
+                    .build());
+        }
+        metricsService.reconcileGauges();
+
+        mockMvc.perform(post("/api/access/entry")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EntryRequest(student.getId(), space.getId(), null))))
+                .andExpect(status().isOk());
+
+        assertThat(meterRegistry.get("space.occupancy").tag("space", "LAB-001").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("space.capacity").tag("space", "LAB-001").gauge().value()).isEqualTo(30);
+        assertThat(meterRegistry.get("building.occupancy").tag("building", "Engineering").gauge().value())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("building.capacity").tag("building", "Sciences").gauge().value())
+                .isEqualTo(50);
+
+        // Con max-spaces=2 el tercer espacio (por id) no tiene serie propia
+        assertThat(meterRegistry.find("space.capacity").tag("space", "LAB-003").gauge()).isNull();
+        assertThat(meterRegistry.get("space.capacity").tag("space", "other").gauge().value()).isEqualTo(30);
+    }
+
+    @Test
+    void buildingGauges_AreReleasedWithTheirLastSpace() {
+        Space sciences = spaceRepository.save(Space.builder()
+                .code("LAB-002")
+                .name("Laboratory 2")
+                .type(SpaceType.LABORATORY)
+                .capacity(20)
+                .building("Sciences")
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+        spaceRepository.save(Space.builder()
+                .code("LAB-003")
+                .name("Laboratory 3")
+                .type(SpaceType.LABORATORY)
+                .capacity(10)
+                .building("Humanities")
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+        metricsService.reconcileGauges();
+        // Con max-buildings=2 el tercer edificio suma en "other"
+        assertThat(meterRegistry.find("building.capacity").tag("building", "Humanities").gauge()).isNull();
+        assertThat(meterRegistry.get("building.capacity").tag("building", "other").gauge().value()).isEqualTo(10);
+
+        // El único espacio de Engineering cambia de edificio: la serie anterior desaparece
+        spaceService.updateSpace(space.getId(), SpaceDTO.builder()
+                .code("LAB-001")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .building("Architecture")
+                .build());
+        assertThat(meterRegistry.find("building.capacity").tag("building", "Engineering").gauge()).isNull();
+        assertThat(meterRegistry.get("building.capacity").tag("building", "Architecture").gauge().value())
+                .isEqualTo(30);
+
+        // Borrar el último espacio de Sciences libera su hueco para el edificio agregado en "other"
+        spaceService.deleteSpace(sciences.getId());
+        assertThat(meterRegistry.find("building.capacity").tag("building", "Sciences").gauge()).isNull();
+        metricsService.reconcileGauges();
+        assertThat(meterRegistry.get("building.capacity").tag("building", "Humanities").gauge().value())
+                .isEqualTo(10);
+        assertThat(meterRegistry.find("building.capacity").tag("building", "other").gauge()).isNull();
+    }
+
+    @Test
+    void entryRegistration_RecordsPhasesAndRejectionReasons() throws Exception {
+        double duplicatesBefore = outcome("duplicate");
+        long insertsBefore = phase("insert");
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/access/entry")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(
+                            new EntryRequest(student.getId(), space.getId(), null))));
+        }
+
+        // El segundo intento se rechaza en la comprobación de acceso activo, antes de insertar
+        assertThat(outcome("duplicate")).isEqualTo(duplicatesBefore + 1);
+        assertThat(phase("insert")).isEqualTo(insertsBefore + 1);
+        assertThat(meterRegistry.get("access.phase.time")
+                .tag("operation", "entry")
+                .tag("phase", "active_check")
+                .timer()
+                .count()).isGreaterThanOrEqualTo(2);
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("access.outcome")
+                .tag("operation", "entry")
+                .tag("outcome", outcome)
+                .counter()
+                .count();
+    }
+
+    private long phase(String phase) {
+        return meterRegistry.get("access.phase.time")
+                .tag("operation", "entry")
+                .tag("phase", phase)
+                .timer()
+                .count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
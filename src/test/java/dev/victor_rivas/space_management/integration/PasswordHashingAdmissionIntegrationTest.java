@@ -0,0 +1,70 @@
+package dev.victor_rivas.space_management.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.model.dto.LoginRequest;
+import dev.victor_rivas.space_management.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "auth.password-hashing.pool-size=1",
+        "auth.password-hashing.queue-capacity=0",
+        "auth.password-hashing.retry-after-seconds=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PasswordHashingAdmissionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PasswordHashingExecutor passwordHashingExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void login_WhenHashingPoolIsSaturated_ReturnsServiceUnavailable() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Ocupar el único hilo del pool
+        CompletableFuture<Boolean> blocker = CompletableFuture.supplyAsync(() ->
+                passwordHashingExecutor.execute(() -> {
+                    started.countDown();
+                    try {
+                        return release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        try {
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new LoginRequest("STU001", "password123"))))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "3"))
+                    .andExpect(jsonPath("$.message").value("Authentication service is busy, please retry shortly"));
+        } finally {
+            release.countDown();
+            blocker.get(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package dev.victor_rivas.space_management.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.dto.EntryRequest;
+import dev.victor_rivas.space_management.model.dto.ExitRequest;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.observability.QueryBudget;
+import dev.victor_rivas.space_management.observability.QueryCountHeaderAdvice;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(QueryBudgetIntegrationTest.OverBudgetController.class)
+class QueryBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private Student student;
+    private Space space;
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        spaceRepository.deleteAll();
+
+        student = studentRepository.save(Student.builder()
+                .registrationNumber("STU001")
+                .name("Test Student")
+                .email("student@test.com")
+                .password("unused")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        space = spaceRepository.save(Space.builder()
+                .code("LAB-001")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password("unused")
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+    }
+
+    @Test
+    void entryAndExit_StayWithinBudgetAndExposeQueryCount() throws Exception {
+        MockHttpServletResponse entry = mockMvc.perform(post("/api/access/entry")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new EntryRequest(student.getId(), space.getId(), null))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(Integer.parseInt(entry.getHeader(QueryCountHeaderAdvice.QUERY_COUNT_HEADER))).isPositive();
+        assertThat(entry.getHeader(QueryCountHeaderAdvice.QUERY_TIME_HEADER)).isNotNull();
+
+        ExitRequest exit = new ExitRequest();
+        exit.setAccessRecordId(objectMapper.readTree(entry.getContentAsString()).path("data").path("id").asLong());
+        MockHttpServletResponse exitResponse = mockMvc.perform(post("/api/access/exit")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(exit)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertThat(Integer.parseInt(exitResponse.getHeader(QueryCountHeaderAdvice.QUERY_COUNT_HEADER))).isPositive();
+
+        assertThat(meterRegistry.get("http.server.requests.queries")
+                .tag("method", "POST")
+                .tag("uri", "/api/access/entry")
+                .summary()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.requests.jdbc")
+                .tag("method", "POST")
+                .tag("uri", "/api/access/exit")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void endpointOverBudget_FailsRequest() {
+        assertThatThrownBy(() -> mockMvc.perform(get("/test/over-budget")
+                        .header("Authorization", "Bearer " + adminToken)))
+                .hasMessageContaining("/test/over-budget")
+                .hasMessageContaining("budget: 0");
+
+        assertThat(meterRegistry.get("http.server.requests.query_budget.exceeded")
+                .tag("uri", "/test/over-budget")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+    // Clase anidada de un test: el escaneo de componentes la ignora y solo entra con @Import
+    @RestController
+    static class OverBudgetController {
+
+        private final StudentRepository studentRepository;
+
+        OverBudgetController(StudentRepository studentRepository) {
+            this.studentRepository = studentRepository;
+        }
+
+        @QueryBudget(0)
+        @GetMapping("/test/over-budget")
+        long overBudget() {
+            return studentRepository.count();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package dev.victor_rivas.space_management.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.model.dto.EntryRequest;
+import dev.victor_rivas.space_management.model.dto.LoginRequest;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "rate-limit.enabled=true",
+        "rate-limit.routes[0].name=login",
+        "rate-limit.routes[0].method=POST",
+        "rate-limit.routes[0].pattern=/api/auth/login",
+        "rate-limit.routes[0].capacity=3",
+        "rate-limit.routes[0].refill-per-second=0.01",
+        "rate-limit.routes[0].keys=IP",
+        "rate-limit.routes[1].name=entry",
+        "rate-limit.routes[1].method=POST",
+        "rate-limit.routes[1].pattern=/api/access/entry",
+        "rate-limit.routes[1].capacity=2",
+        "rate-limit.routes[1].refill-per-second=0.01",
+        "rate-limit.routes[1].keys=IP,PRINCIPAL"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Test
+    void login_OverBucketCapacity_ReturnsTooManyRequestsPerIp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(login("10.0.0.1"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(login("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists("Retry-After"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        // Otro cliente tiene su propio bucket
+        mockMvc.perform(login("10.0.0.2"))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(meterRegistry.get("http.rate_limit.rejected")
+                .tag("route", "login")
+                .tag("key", "ip")
+                .counter()
+                .count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void entry_RejectedByPrincipal_DoesNotChargeTheIpBucket() throws Exception {
+        String token = token("STU001");
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(entry("10.0.1.1", token))
+                    .andExpect(admitted());
+        }
+
+        // El bucket del usuario está vacío: la petición desde otra IP se rechaza por PRINCIPAL
+        mockMvc.perform(entry("10.0.1.2", token))
+                .andExpect(status().isTooManyRequests());
+
+        // El token que se tomó del bucket de esa IP se devolvió: le quedan los dos
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(entry("10.0.1.2", null))
+                    .andExpect(admitted());
+        }
+        mockMvc.perform(entry("10.0.1.2", null))
+                .andExpect(status().isTooManyRequests());
+
+        assertThat(meterRegistry.get("http.rate_limit.rejected")
+                .tag("route", "entry")
+                .tag("key", "principal")
+                .counter()
+                .count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("http.rate_limit.rejected")
+                .tag("route", "entry")
+                .tag("key", "ip")
+                .counter()
+                .count()).isEqualTo(1.0);
+    }
+
+    // Lo que responda la ruta después da igual: solo importa que el limitador la deje pasar
+    private static ResultMatcher admitted() {
+        return result -> assertThat(result.getResponse().getStatus())
+                .isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private String token(String username) {
+        User user = User.builder()
+                .id(1L)
+                .username(username)
+                .email(username.toLowerCase() + "@test.com")
+                .password("unused")
+                .role(Role.STUDENT)
+                .enabled(true)
+                .build();
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private MockHttpServletRequestBuilder entry(String remoteAddr, String token) throws Exception {
+        MockHttpServletRequestBuilder builder = post("/api/access/entry")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new EntryRequest(1L, 1L, null)));
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private MockHttpServletRequestBuilder login(String remoteAddr) throws Exception {
+        return post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("UNKNOWN", "password123")));
+    }
+}
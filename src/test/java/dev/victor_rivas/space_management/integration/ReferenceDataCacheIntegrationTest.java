@@ -0,0 +1,125 @@
+package dev.victor_rivas.space_management.integration;
+
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.dto.SpaceDTO;
+import dev.victor_rivas.space_management.model.dto.StudentDTO;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.service.SpaceService;
+import dev.victor_rivas.space_management.service.StudentService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Space y Student en la caché de segundo nivel: las búsquedas por natural-id funcionan fuera de
+ * una transacción de servicio y las actualizaciones desalojan las entradas tras el commit.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class ReferenceDataCacheIntegrationTest {
+
+    @Autowired
+    private SpaceService spaceService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cache cache;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        spaceRepository.deleteAll();
+        studentRepository.deleteAll();
+
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        cache = sessionFactory.getCache();
+        cache.evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+    }
+
+    @Test
+    void updateSpace_EvictsEntityAndNaturalIdEntries() {
+        Space space = spaceRepository.save(Space.builder()
+                .code("LAB-001")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .status(SpaceStatus.AVAILABLE)
+                .build());
+        // Sin transacción alrededor: el fragmento de natural-id abre la suya
+        assertThat(spaceRepository.findByCode("LAB-001")).isPresent();
+        assertThat(cache.containsEntity(Space.class, space.getId())).isTrue();
+
+        spaceService.updateSpace(space.getId(), SpaceDTO.builder()
+                .code("LAB-002")
+                .name("Computer Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(40)
+                .build());
+
+        assertThat(cache.containsEntity(Space.class, space.getId())).isFalse();
+
+        statistics.clear();
+        assertThat(spaceRepository.findByCode("LAB-001")).isEmpty();
+        assertThat(spaceRepository.findByCode("LAB-002"))
+                .hasValueSatisfying(updated -> assertThat(updated.getCapacity()).isEqualTo(40));
+        // Ambos códigos se resuelven contra la base de datos: no queda ninguna entrada anterior
+        NaturalIdStatistics naturalIds = statistics.getNaturalIdStatistics(Space.class.getName());
+        assertThat(naturalIds.getCacheHitCount()).isZero();
+        assertThat(naturalIds.getCacheMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updateStudent_EvictsEntityEntry() {
+        Student student = studentRepository.save(Student.builder()
+                .registrationNumber("STU001")
+                .name("Test Student")
+                .email("student@test.com")
+                .password("unused")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        assertThat(studentRepository.findByRegistrationNumber("STU001")).isPresent();
+        assertThat(cache.containsEntity(Student.class, student.getId())).isTrue();
+
+        studentService.updateStudent(student.getId(), StudentDTO.builder()
+                .registrationNumber("STU001")
+                .name("Renamed Student")
+                .email("renamed@test.com")
+                .build());
+
+        assertThat(cache.containsEntity(Student.class, student.getId())).isFalse();
+        assertThat(studentRepository.findByRegistrationNumber("STU001"))
+                .hasValueSatisfying(updated -> assertThat(updated.getName()).isEqualTo("Renamed Student"));
+    }
+}
@@ -0,0 +1,124 @@
+package dev.victor_rivas.space_management.integration;
+
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// Umbral a cero para que toda llamada se registre como lenta
+@SpringBootTest(properties = "repository-metrics.slow-threshold=0ms")
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@ExtendWith(OutputCaptureExtension.class)
+class RepositoryMetricsIntegrationTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        spaceRepository.deleteAll();
+
+        for (int i = 0; i < 3; i++) {
+            spaceRepository.save(Space.builder()
+                    .code("LAB-" + i)
+                    .name("Laboratory " + i)
+                    .type(SpaceType.LABORATORY)
+                    .capacity(30)
+                    .building("Engineering")
+                    .status(SpaceStatus.AVAILABLE)
+                    .build());
+        }
+    }
+
+    @Test
+    void finder_RecordsReturnedRowsAndLatencyByMethod() {
+        assertThat(spaceRepository.findByBuilding("Engineering")).hasSize(3);
+
+        DistributionSummary rows = meterRegistry.get("repository.invocation.rows")
+                .tag("repository", "SpaceRepository")
+                .tag("method", "findByBuilding")
+                .summary();
+        assertThat(rows.count()).isEqualTo(1);
+        assertThat(rows.totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("spring.data.repository.invocations")
+                .tag("repository", "SpaceRepository")
+                .tag("method", "findByBuilding")
+                .timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void scalarResults_AreNotCountedAsRows() {
+        spaceRepository.countByStatus(SpaceStatus.AVAILABLE);
+
+        assertThat(meterRegistry.find("repository.invocation.rows")
+                .tag("method", "countByStatus")
+                .summary()).isNull();
+    }
+
+    @Test
+    void slowCall_LogsParameterShapeWithoutValues(CapturedOutput output) {
+        spaceRepository.findByBuilding("Engineering");
+
+        // Los appenders son asíncronos: la línea llega a la consola poco después
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(output).contains("Slow query SpaceRepository#findByBuilding")
+                        .contains("3 rows, parameters (String[11])"));
+        assertThat(output).doesNotContain("parameters (Engineering)");
+    }
+
+    @Test
+    void slowFailedCall_IsLoggedWithTheException(CapturedOutput output) {
+        Space duplicate = Space.builder()
+                .code("LAB-0")
+                .name("Duplicate Laboratory")
+                .type(SpaceType.LABORATORY)
+                .capacity(30)
+                .status(SpaceStatus.AVAILABLE)
+                .build();
+
+        assertThatThrownBy(() -> spaceRepository.saveAndFlush(duplicate))
+                .isInstanceOf(DataIntegrityViolationException.class);
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(output).contains("Slow query SpaceRepository#saveAndFlush failed after")
+                        .contains("parameters (Space)"));
+    }
+}
@@ -0,0 +1,105 @@
+package dev.victor_rivas.space_management.integration;
+
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.enums.SpaceStatus;
+import dev.victor_rivas.space_management.enums.SpaceType;
+import dev.victor_rivas.space_management.model.entity.Space;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.SpaceRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Todas las peticiones muestreadas para que el resultado sea determinista
+@SpringBootTest(properties = "request-resources.sample-rate=1.0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class RequestResourceMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private SpaceRepository spaceRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String adminToken;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+        spaceRepository.deleteAll();
+
+        for (int i = 0; i < 20; i++) {
+            spaceRepository.save(Space.builder()
+                    .code("LAB-" + i)
+                    .name("Laboratory " + i)
+                    .type(SpaceType.LABORATORY)
+                    .capacity(30)
+                    .status(SpaceStatus.AVAILABLE)
+                    .build());
+        }
+        User admin = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password("unused")
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+    }
+
+    @Test
+    void listRequest_RecordsAllocatedBytesAndCpuByHandler() throws Exception {
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        DistributionSummary allocated = meterRegistry.get("http.server.requests.allocated")
+                .tag("method", "GET")
+                .tag("uri", "/api/spaces")
+                .summary();
+        Timer cpu = meterRegistry.get("http.server.requests.cpu")
+                .tag("method", "GET")
+                .tag("uri", "/api/spaces")
+                .timer();
+        assertThat(allocated.count()).isEqualTo(1);
+        assertThat(allocated.max()).isPositive();
+        assertThat(cpu.count()).isEqualTo(1);
+    }
+}
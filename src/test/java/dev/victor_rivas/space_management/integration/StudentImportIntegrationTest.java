@@ -0,0 +1,176 @@
+package dev.victor_rivas.space_management.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Bloques de 2 filas para cubrir duplicados entre bloques
+@SpringBootTest(properties = "student-import.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class StudentImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private String adminToken;
+    private String studentToken;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+
+        User adminUser = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password(passwordEncoder.encode("admin123"))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+
+        Student existing = studentRepository.save(Student.builder()
+                .registrationNumber("STU001")
+                .name("Existing Student")
+                .email("existing@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .status(StudentStatus.ACTIVE)
+                .build());
+        User studentUser = userRepository.save(User.builder()
+                .username("STU001")
+                .email("existing@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.STUDENT)
+                .student(existing)
+                .enabled(true)
+                .build());
+
+        adminToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(adminUser, null, adminUser.getAuthorities()));
+        studentToken = jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(studentUser, null, studentUser.getAuthorities()));
+    }
+
+    @Test
+    void importCsv_CreatesValidRowsAndReportsRejectedOnes() throws Exception {
+        String csv = """
+                registrationNumber,name,email,password,phoneNumber
+                STU100,"Doe, Jane",jane@test.com,secret123,555
+                STU001,Existing Again,other@test.com,secret123,
+                STU101,John,john@test.com,secret123,
+                STU102,Dup Email,jane@test.com,secret123,
+                STU103,Bad Email,not-an-email,secret123,
+                STU104,Ann,existing@test.com,secret123,
+                """;
+
+        List<JsonNode> results = importStudents(MediaType.parseMediaType("text/csv"), csv);
+
+        assertThat(results).hasSize(6);
+        assertThat(results).extracting(node -> node.get("status").asText())
+                .containsExactly("CREATED", "REJECTED", "CREATED", "REJECTED", "REJECTED", "REJECTED");
+        assertThat(results.get(1).get("message").asText()).isEqualTo("Registration number already exists");
+        assertThat(results.get(3).get("message").asText()).isEqualTo("Duplicate email in import");
+        assertThat(results.get(4).get("message").asText()).isEqualTo("Email must be valid");
+        assertThat(results.get(5).get("message").asText()).isEqualTo("Email already exists");
+
+        Student jane = studentRepository.findByRegistrationNumber("STU100").orElseThrow();
+        assertThat(jane.getName()).isEqualTo("Doe, Jane");
+        assertThat(results.get(0).get("studentId").asLong()).isEqualTo(jane.getId());
+
+        // Un único hash por fila, compartido por Student y User
+        User janeUser = userRepository.findByUsername("STU100").orElseThrow();
+        assertThat(janeUser.getPassword()).isEqualTo(jane.getPassword());
+        assertThat(passwordEncoder.matches("secret123", janeUser.getPassword())).isTrue();
+        assertThat(janeUser.getStudent().getId()).isEqualTo(jane.getId());
+    }
+
+    @Test
+    void importNdjson_CreatesStudentsAndRejectsMalformedLines() throws Exception {
+        String ndjson = """
+                {"registrationNumber":"STU200","name":"Ana","email":"ana@test.com","password":"secret123"}
+                {not json}
+                {"registrationNumber":"STU201","name":"Luis","email":"luis@test.com","password":"123"}
+                """;
+
+        List<JsonNode> results = importStudents(MediaType.APPLICATION_NDJSON, ndjson);
+
+        assertThat(results).extracting(node -> node.get("status").asText())
+                .containsExactly("CREATED", "REJECTED", "REJECTED");
+        assertThat(results.get(1).get("message").asText()).isEqualTo("Malformed JSON");
+        assertThat(results.get(2).get("message").asText()).isEqualTo("Password must be at least 6 characters");
+        assertThat(userRepository.findByUsername("STU200")).isPresent();
+    }
+
+    @Test
+    void import_WithStudentRole_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/api/admin/students/import")
+                        .header("Authorization", "Bearer " + studentToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
+    private List<JsonNode> importStudents(MediaType contentType, String body) throws Exception {
+        String response = mockMvc.perform(post("/api/admin/students/import")
+                        .header("Authorization", "Bearer " + adminToken)
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            if (!line.isBlank()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,144 @@
+package dev.victor_rivas.space_management.integration;
+
+import dev.victor_rivas.space_management.enums.Role;
+import dev.victor_rivas.space_management.enums.StudentStatus;
+import dev.victor_rivas.space_management.model.entity.Student;
+import dev.victor_rivas.space_management.model.entity.User;
+import dev.victor_rivas.space_management.repository.AccessRecordRepository;
+import dev.victor_rivas.space_management.repository.StudentRepository;
+import dev.victor_rivas.space_management.repository.UserRepository;
+import dev.victor_rivas.space_management.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+class UserAdminControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccessRecordRepository accessRecordRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String adminToken;
+    private String studentToken;
+    private User studentUser;
+
+    @BeforeEach
+    void setUp() {
+        accessRecordRepository.deleteAll();
+        userRepository.deleteAll();
+        studentRepository.deleteAll();
+
+        User adminUser = userRepository.save(User.builder()
+                .username("admin")
+                .email("admin@test.com")
+                .password(passwordEncoder.encode("admin123"))
+                .role(Role.ADMIN)
+                .enabled(true)
+                .build());
+
+        Student student = studentRepository.save(Student.builder()
+                .registrationNumber("STU001")
+                .name("Test Student")
+                .email("student@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .status(StudentStatus.ACTIVE)
+                .build());
+
+        studentUser = userRepository.save(User.builder()
+                .username("STU001")
+                .email("student@test.com")
+                .password(passwordEncoder.encode("password123"))
+                .role(Role.STUDENT)
+                .student(student)
+                .enabled(true)
+                .build());
+
+        adminToken = generateToken(adminUser);
+        studentToken = generateToken(studentUser);
+    }
+
+    @Test
+    void revokeTokens_WithAdminRole_InvalidatesExistingTokens() throws Exception {
+        mockMvc.perform(post("/api/admin/users/" + studentUser.getId() + "/revoke-tokens")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Tokens revoked successfully"));
+
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isUnauthorized());
+
+        // Un token emitido después de la revocación es válido
+        User reloaded = userRepository.findById(studentUser.getId()).orElseThrow();
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + generateToken(reloaded)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void disableAndEnable_OldTokensStayRevoked() throws Exception {
+        mockMvc.perform(post("/api/admin/users/" + studentUser.getId() + "/disable")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(post("/api/admin/users/" + studentUser.getId() + "/enable")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/spaces")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void revokeTokens_WithNonExistingUser_ReturnsNotFound() throws Exception {
+        mockMvc.perform(post("/api/admin/users/999999/revoke-tokens")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void disable_WithStudentRole_ReturnsForbidden() throws Exception {
+        mockMvc.perform(post("/api/admin/users/" + studentUser.getId() + "/disable")
+                        .header("Authorization", "Bearer " + studentToken))
+                .andExpect(status().isForbidden());
+    }
+
+    private String generateToken(User user) {
+        return jwtTokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}